@@ -0,0 +1,90 @@
+package com.sandesh.formbuilder.config;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of authenticating a bearer token.
+// legacy:     what the filter did before, three verifications each through a freshly built parser
+//             (the user lookup it also did per request is left out, so this flatters it)
+// uncached:   the filter with one verification through the shared parser
+// cached:     the filter answering from the verified-token cache
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "a-benchmark-secret-that-is-long-enough-for-hs256";
+
+    @Param({"legacy", "uncached", "cached"})
+    public String mode;
+
+    private Key key;
+    private String token;
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtTokenValidity", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", "cached".equals(mode) ? 10_000L : 0L);
+        jwtUtil.init();
+        token = jwtUtil.generateToken(new AuthenticatedUser(UUID.randomUUID(), "bench@example.com", null, List.of("USER")));
+        filter = new JwtAuthenticationFilter(jwtUtil, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/forms");
+        request.addHeader("Authorization", "Bearer " + token);
+        if ("legacy".equals(mode)) {
+            return legacyVerify(request.getHeader("Authorization").substring(7));
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // The filter only authenticates when the context is empty, as at the start of a request
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private Object legacyVerify(String jwt) {
+        String username = parse(jwt).getSubject();
+        boolean valid = username.equals(parse(jwt).getSubject()) && !parse(jwt).getExpiration().before(new Date());
+        return valid ? username : null;
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sandesh.formbuilder.service.email;
+
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Rendering the receipt email for one submission; date and datetime values are reformatted
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailBodyBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int fieldCount;
+
+    @Param({"mixed", "text", "datetime"})
+    public String fieldTypes;
+
+    private List<Map<String, Object>> submission;
+
+    @Setup
+    public void setUp() {
+        submission = SyntheticForms.submissions(SyntheticForms.schema(fieldCount, fieldTypes), 1, 42).get(0);
+    }
+
+    @Benchmark
+    public String buildEmailBody() {
+        return EmailServiceImpl.buildEmailBody(submission, "Benchmark form");
+    }
+}
@@ -0,0 +1,104 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Per-row cost of the Excel export: each invocation writes ROWS stored submissions through
+// ExcelRowWriter into a streaming workbook and then serializes the workbook, so rows flushed to
+// SXSSF's temp file and the final zip are both counted
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExcelRowBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({"5", "20", "100"})
+    public int fieldCount;
+
+    @Param({"mixed"})
+    public String fieldTypes;
+
+    @Param({"true", "false"})
+    public boolean compressTempFiles;
+
+    private CompiledFormSchema compiledSchema;
+    private List<FormData> formData;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FormTemplate template = SyntheticForms.template(fieldCount, fieldTypes);
+        compiledSchema = CompiledFormSchema.compile(template, SyntheticForms.OBJECT_MAPPER);
+        List<Map<String, Object>> schema = SyntheticForms.schema(fieldCount, fieldTypes);
+        formData = new ArrayList<>(ROWS);
+        for (List<Map<String, Object>> submission : SyntheticForms.submissions(schema, ROWS, 42)) {
+            FormData data = new FormData();
+            data.setId(UUID.randomUUID());
+            data.setJsonData(SyntheticForms.toJson(submission));
+            data.setCreatedAt(LocalDateTime.now());
+            formData.add(data);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long writeRows() throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+        workbook.setCompressTempFiles(compressTempFiles);
+        try (workbook) {
+            Sheet sheet = workbook.createSheet("Responses");
+            ExcelRowWriter rowWriter = new ExcelRowWriter(workbook, compiledSchema, SyntheticForms.OBJECT_MAPPER.getFactory());
+            int rowNum = 1;
+            for (FormData data : formData) {
+                rowWriter.write(sheet.createRow(rowNum++), data);
+            }
+            CountingOutputStream out = new CountingOutputStream();
+            workbook.write(out);
+            workbook.dispose();
+            return out.count;
+        }
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.FormbuilderApplication;
+import com.sandesh.formbuilder.dto.FormDataResponse;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Latency of FormService.fillUpForm against a real PostgreSQL (embedded), with the template already
+// holding `existingRows` submissions. Submitting must not get slower as a template fills up, so the
+// percentiles should stay flat from 0 to 1M rows. SampleTime reports p50/p90/p99/p99.9.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SubmissionInsertBenchmark {
+
+    private static final String EMAIL = "submitter@example.com";
+
+    @Param({"0", "100000", "1000000"})
+    public int existingRows;
+
+    @Param({"20"})
+    public int fieldCount;
+
+    @Param({"mixed"})
+    public String fieldTypes;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private FormService formService;
+    private UUID userId;
+    private UUID templateId;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.start();
+        context = new SpringApplicationBuilder(FormbuilderApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "spring.datasource.username=postgres",
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "spring.flyway.postgresql.transactional-lock=false",
+                        "jwt.secret=a-benchmark-secret-that-is-long-enough-for-hs512-signatures-0123456789",
+                        "jwt.token-expiration=3600000",
+                        "spring.mail.host=localhost",
+                        "form.email.outbox.poll-interval-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        formService = context.getBean(FormService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        userId = UUID.randomUUID();
+        templateId = UUID.randomUUID();
+        List<Map<String, Object>> schema = SyntheticForms.schema(fieldCount, fieldTypes);
+        List<Map<String, Object>> submission = SyntheticForms.submissions(schema, 1, 42).get(0);
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password) VALUES (?, ?, 'submitter', 'x')", userId, EMAIL);
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Benchmark', CAST(? AS jsonb), true, true, now())", templateId, SyntheticForms.toJson(schema));
+        jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) "
+                        + "SELECT gen_random_uuid(), CAST(? AS jsonb), ?, ?, now() FROM generate_series(1, ?)",
+                SyntheticForms.toJson(submission), templateId, userId, existingRows);
+        jdbcTemplate.execute("VACUUM ANALYZE form_data");
+
+        body = SyntheticForms.requestBody(submission).getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Per iteration because JMH may run iterations on different threads and the security context is thread-local
+    @Setup(Level.Iteration)
+    public void authenticate() {
+        AuthenticatedUser principal = new AuthenticatedUser(userId, EMAIL, null, List.of("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public FormDataResponse fillUpForm() {
+        return formService.fillUpForm(new ByteArrayInputStream(body), templateId, false);
+    }
+}
@@ -0,0 +1,60 @@
+package com.sandesh.formbuilder.util;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// JwtUtil on its own, without the filter: issuing a token at login and verifying it into a principal
+// (through the verified-token cache or not)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "a-benchmark-secret-that-is-long-enough-for-hs256";
+
+    @Param({"0", "10000"})
+    public long verifiedCacheSize;
+
+    private JwtUtil jwtUtil;
+    private AuthenticatedUser user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtTokenValidity", TimeUnit.HOURS.toMillis(1));
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        user = new AuthenticatedUser(UUID.randomUUID(), "bench@example.com", null, List.of("USER", "ADMIN"));
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public AuthenticatedUser getAuthenticatedUser() {
+        return jwtUtil.getAuthenticatedUser(token);
+    }
+}
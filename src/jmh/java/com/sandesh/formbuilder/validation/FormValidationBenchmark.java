@@ -0,0 +1,55 @@
+package com.sandesh.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Cost of checking one submission against its template, across template sizes and field types, on the
+// request path: FormDataReader streams the body straight into validated items and canonical JSON.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormValidationBenchmark {
+
+    @Param({"5", "20", "100"})
+    public int fieldCount;
+
+    @Param({"mixed", "text", "number", "dropdown", "email", "datetime"})
+    public String fieldTypes;
+
+    private CompiledFormSchema schema;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> fields = SyntheticForms.schema(fieldCount, fieldTypes);
+        schema = CompiledFormSchema.compile(SyntheticForms.template(fieldCount, fieldTypes), SyntheticForms.OBJECT_MAPPER);
+        body = SyntheticForms.requestBody(SyntheticForms.submissions(fields, 1, 42).get(0)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public ValidatedFormData readSubmission() throws IOException {
+        try (JsonParser parser = SyntheticForms.OBJECT_MAPPER.createParser(body)) {
+            return FormDataReader.readSubmission(schema, parser);
+        }
+    }
+}
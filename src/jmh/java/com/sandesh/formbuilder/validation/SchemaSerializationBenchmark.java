@@ -0,0 +1,80 @@
+package com.sandesh.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Template schema and submission JSON through the ObjectMapper, as done on template create/read,
+// on a FormSchemaCache miss (compile) and wherever stored jsonData is read back as maps
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaSerializationBenchmark {
+
+    private static final TypeReference<List<Map<String, Object>>> LIST_OF_MAPS = new TypeReference<>() {};
+
+    @Param({"5", "20", "100"})
+    public int fieldCount;
+
+    @Param({"mixed"})
+    public String fieldTypes;
+
+    private FormTemplate template;
+    private List<Map<String, Object>> schema;
+    private String schemaJson;
+    private List<Map<String, Object>> submission;
+    private String submissionJson;
+
+    @Setup
+    public void setUp() {
+        template = SyntheticForms.template(fieldCount, fieldTypes);
+        schema = SyntheticForms.schema(fieldCount, fieldTypes);
+        schemaJson = template.getJsonSchema();
+        submission = SyntheticForms.submissions(schema, 1, 42).get(0);
+        submissionJson = SyntheticForms.toJson(submission);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parseSchema() throws JsonProcessingException {
+        return SyntheticForms.OBJECT_MAPPER.readValue(schemaJson, LIST_OF_MAPS);
+    }
+
+    @Benchmark
+    public String serializeSchema() throws JsonProcessingException {
+        return SyntheticForms.OBJECT_MAPPER.writeValueAsString(schema);
+    }
+
+    @Benchmark
+    public CompiledFormSchema compileSchema() {
+        return CompiledFormSchema.compile(template, SyntheticForms.OBJECT_MAPPER);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parseSubmission() throws JsonProcessingException {
+        return SyntheticForms.OBJECT_MAPPER.readValue(submissionJson, LIST_OF_MAPS);
+    }
+
+    @Benchmark
+    public String serializeSubmission() throws JsonProcessingException {
+        return SyntheticForms.OBJECT_MAPPER.writeValueAsString(submission);
+    }
+}
@@ -0,0 +1,118 @@
+package com.sandesh.formbuilder.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency per endpoint, recorded from every client thread. Only requests that start after the
+// warmup are counted; errors (transport failures and non-2xx responses) are counted but kept out
+// of the latency distribution.
+public class LatencyReport {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private volatile long measureUntil = Long.MAX_VALUE;
+
+    public void startMeasuring() {
+        measureFrom = System.nanoTime();
+    }
+
+    public void stopMeasuring() {
+        measureUntil = System.nanoTime();
+    }
+
+    public void record(String endpoint, long startNanos, long endNanos, int status) {
+        if (startNanos < measureFrom || endNanos > measureUntil) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        if (status >= 200 && status < 300) {
+            stats.latencies.recordValue(Math.max(1, (endNanos - startNanos) / 1_000));
+        } else {
+            stats.errors.increment();
+            stats.errorsByStatus.computeIfAbsent(status, code -> new LongAdder()).increment();
+        }
+    }
+
+    public List<Row> rows() {
+        double seconds = (measureUntil - measureFrom) / 1e9;
+        List<Row> rows = new ArrayList<>();
+        endpoints.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            Histogram latencies = entry.getValue().latencies;
+            long ok = latencies.getTotalCount();
+            long errors = entry.getValue().errors.sum();
+            Map<Integer, Long> errorsByStatus = new LinkedHashMap<>();
+            entry.getValue().errorsByStatus.forEach((status, count) -> errorsByStatus.put(status, count.sum()));
+            rows.add(new Row(entry.getKey(), ok, errors, errorsByStatus, (ok + errors) / seconds,
+                    millis(latencies, 50), millis(latencies, 95), millis(latencies, 99), latencies.getMaxValue() / 1_000.0));
+        });
+        return rows;
+    }
+
+    public void print(PrintStream out, Duration measured) {
+        out.printf("%n%-40s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "ok", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Row row : rows()) {
+            total += row.ok() + row.errors();
+            out.printf("%-40s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", row.endpoint(), row.ok(), row.errors(),
+                    row.throughput(), row.p50(), row.p95(), row.p99(), row.max());
+            if (!row.errorsByStatus().isEmpty()) {
+                out.printf("%-40s errors by status (0 = no response): %s%n", "", row.errorsByStatus());
+            }
+        }
+        out.printf("%ntotal %d requests in %ds, %.1f req/s%n", total, measured.toSeconds(), total / (measured.toMillis() / 1000.0));
+    }
+
+    public Map<String, Object> summary(LoadTestOptions options) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("clients", options.clients());
+        summary.put("users", options.users());
+        summary.put("templates", options.templates());
+        summary.put("submissions", options.submissions());
+        summary.put("durationSeconds", options.duration().toSeconds());
+        summary.put("appProperties", options.appProperties());
+        summary.put("endpoints", rows());
+        return summary;
+    }
+
+    public void write(Path file, LoadTestOptions options) throws IOException {
+        writeJson(file, summary(options));
+    }
+
+    static void writeJson(Path file, Object value) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), value);
+    }
+
+    public long totalRequests() {
+        return rows().stream().mapToLong(row -> row.ok() + row.errors()).sum();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    public record Row(String endpoint, long ok, long errors, Map<Integer, Long> errorsByStatus, double throughput,
+                      double p50, double p95, double p99, double max) {
+    }
+
+    private static final class Endpoint {
+        // Microseconds, 3 significant digits
+        private final Histogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+    }
+}
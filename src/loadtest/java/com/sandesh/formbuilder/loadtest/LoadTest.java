@@ -0,0 +1,81 @@
+package com.sandesh.formbuilder.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Boots the application on an embedded PostgreSQL, seeds it and runs closed-loop clients against
+// its HTTP API, then prints latency percentiles per endpoint and writes them as JSON.
+//
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="clients=500 duration=2m"
+//
+// Arguments are key=value: users, templates, submissions (seeded rows), fields (per template),
+// clients, warmup, duration, think-time, mix (e.g. "get=10,submit=5") and seed. Arguments with a
+// dot in the key are application properties, e.g. spring.threads.virtual.enabled=true.
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LatencyReport report = run(options);
+        if (options.report() != null) {
+            report.write(options.report(), options);
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+        }
+        // Lingering non-daemon threads (HTTP client, embedded servers) must not keep the exec plugin waiting
+        System.exit(0);
+    }
+
+    // One complete run on a fresh database and application, printing its results
+    static LatencyReport run(LoadTestOptions options) throws Exception {
+        try (LoadTestEnvironment environment = new LoadTestEnvironment(options.appProperties())) {
+            long seedStart = System.nanoTime();
+            Seeder.Seeded seeded = new Seeder(environment.context()).seed(options);
+            System.out.printf("Seeded %d users, %d templates and %d submissions in %d ms%n",
+                    options.users(), options.templates(), options.submissions(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+            LatencyReport report = new LatencyReport();
+            drive(options, environment.baseUrl(), seeded, report);
+
+            report.print(System.out, options.duration());
+            System.out.printf("%d receipt emails delivered%n", environment.deliveredEmails());
+            return report;
+        }
+    }
+
+    private static void drive(LoadTestOptions options, String baseUrl, Seeder.Seeded seeded,
+                              LatencyReport report) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        AtomicInteger registrations = new AtomicInteger();
+        long stopAt = System.nanoTime() + options.warmup().plus(options.duration()).toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Clients start spread over the first half of the warmup instead of all logging in at once
+            long rampUpNanos = options.warmup().toNanos() / 2;
+            long warmupEnd = System.nanoTime() + options.warmup().toNanos();
+            for (int i = 0; i < options.clients(); i++) {
+                long startDelay = rampUpNanos * i / options.clients();
+                VirtualUser user = new VirtualUser(i, httpClient, baseUrl, seeded, options, report, registrations,
+                        () -> System.nanoTime() < stopAt);
+                clients.submit(() -> {
+                    TimeUnit.NANOSECONDS.sleep(startDelay);
+                    user.run();
+                    return null;
+                });
+            }
+
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, warmupEnd - System.nanoTime()));
+            System.out.printf("Warmed up, measuring for %ds with %d clients%n", options.duration().toSeconds(), options.clients());
+            report.startMeasuring();
+            TimeUnit.NANOSECONDS.sleep(Math.max(0, stopAt - System.nanoTime()));
+            report.stopMeasuring();
+            // Requests still in flight finish outside the window and are not counted
+        }
+    }
+}
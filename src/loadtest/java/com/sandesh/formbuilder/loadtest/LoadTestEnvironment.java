@@ -0,0 +1,70 @@
+package com.sandesh.formbuilder.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sandesh.formbuilder.FormbuilderApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The application as it runs in production, on a random port, against an embedded PostgreSQL and
+// an in-memory SMTP server so that submissions go through the email outbox too
+public class LoadTestEnvironment implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final GreenMail smtp;
+    private final ConfigurableApplicationContext context;
+
+    public LoadTestEnvironment(Map<String, String> appProperties) throws IOException {
+        postgres = EmbeddedPostgres.builder()
+                // Enough connections for a large Hikari pool plus the seeding connection
+                .setServerConfig("max_connections", "300")
+                .start();
+        smtp = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        smtp.start();
+
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", postgres.getJdbcUrl("postgres", "postgres"));
+        properties.put("spring.datasource.username", "postgres");
+        properties.put("spring.jpa.hibernate.ddl-auto", "validate");
+        properties.put("spring.flyway.postgresql.transactional-lock", "false");
+        properties.put("jwt.secret", "a-load-test-secret-that-is-long-enough-for-hs512-signatures-0123456789");
+        properties.put("jwt.token-expiration", "3600000");
+        properties.put("spring.mail.host", "localhost");
+        properties.put("spring.mail.port", String.valueOf(smtp.getSmtp().getPort()));
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(appProperties);
+
+        context = new SpringApplicationBuilder(FormbuilderApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    public int deliveredEmails() {
+        return smtp.getReceivedMessages().length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            context.close();
+        } finally {
+            smtp.stop();
+            postgres.close();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.sandesh.formbuilder.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Settings for one run, given as key=value arguments. Keys containing a dot are not load test
+// settings but application properties (e.g. spring.threads.virtual.enabled=true), passed through
+// to the application under test.
+public record LoadTestOptions(
+        int users,
+        int templates,
+        int submissions,
+        int fields,
+        int clients,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        Map<Action, Integer> mix,
+        long seed,
+        Path report,
+        Map<String, String> appProperties) {
+
+    // What a client does on each step; the weights are relative
+    private static final String DEFAULT_MIX = "register=1,login=2,list=20,get=30,submit=35,edit=8,export=4";
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> settings = new LinkedHashMap<>();
+        Map<String, String> appProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got '" + arg + "'");
+            }
+            String key = arg.substring(0, separator);
+            String value = arg.substring(separator + 1);
+            (key.contains(".") ? appProperties : settings).put(key, value);
+        }
+
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(settings.getOrDefault("users", "200")),
+                Integer.parseInt(settings.getOrDefault("templates", "20")),
+                Integer.parseInt(settings.getOrDefault("submissions", "100000")),
+                Integer.parseInt(settings.getOrDefault("fields", "10")),
+                Integer.parseInt(settings.getOrDefault("clients", "100")),
+                DurationStyle.detectAndParse(settings.getOrDefault("warmup", "15s")),
+                DurationStyle.detectAndParse(settings.getOrDefault("duration", "60s")),
+                DurationStyle.detectAndParse(settings.getOrDefault("think-time", "0ms")),
+                parseMix(settings.getOrDefault("mix", DEFAULT_MIX)),
+                Long.parseLong(settings.getOrDefault("seed", "42")),
+                settings.containsKey("report") ? Path.of(settings.get("report")) : null,
+                appProperties);
+
+        settings.keySet().removeAll(Set.of("users", "templates", "submissions", "fields", "clients", "warmup",
+                "duration", "think-time", "mix", "seed", "report"));
+        if (!settings.isEmpty()) {
+            throw new IllegalArgumentException("Unknown settings " + settings.keySet());
+        }
+        if (options.users() < 1 || options.templates() < 1 || options.clients() < 1) {
+            throw new IllegalArgumentException("users, templates and clients must be at least 1");
+        }
+        return options;
+    }
+
+    // The same run with one more (or a different) application property
+    public LoadTestOptions withAppProperty(String key, String value) {
+        Map<String, String> properties = new LinkedHashMap<>(appProperties);
+        properties.put(key, value);
+        return new LoadTestOptions(users, templates, submissions, fields, clients, warmup, duration, thinkTime, mix,
+                seed, report, properties);
+    }
+
+    // "register=1,login=2,..." with actions left out weighted 0
+    private static Map<Action, Integer> parseMix(String text) {
+        Map<Action, Integer> mix = new LinkedHashMap<>();
+        for (String entry : text.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "'");
+            }
+            mix.put(Action.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The mix must have at least one positive weight");
+        }
+        return mix;
+    }
+
+    public enum Action {
+        REGISTER, LOGIN, LIST, GET, SUBMIT, EDIT, EXPORT
+    }
+}
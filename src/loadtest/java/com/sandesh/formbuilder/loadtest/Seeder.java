@@ -0,0 +1,92 @@
+package com.sandesh.formbuilder.loadtest;
+
+import com.sandesh.formbuilder.repository.UserRepositoryCustom;
+import com.sandesh.formbuilder.service.analytics.FormAnalyticsService;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import com.sandesh.formbuilder.util.JwtUtil;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Fills the database before the clients start: users that can log in (each with a token ready),
+// templates built from SyntheticForms and a backlog of submissions spread over them. Templates and
+// submissions are inserted in bulk with SQL so a million submissions take seconds, then the analytics
+// tables are rebuilt to match.
+public class Seeder {
+
+    public static final String PASSWORD = "Passw0rd!";
+
+    // Distinct submissions per template; the seeded rows cycle through them
+    private static final int SAMPLES_PER_TEMPLATE = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepositoryCustom userRepositoryCustom;
+    private final FormAnalyticsService formAnalyticsService;
+    private final JwtUtil jwtUtil;
+
+    public Seeder(ApplicationContext context) {
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.userRepositoryCustom = context.getBean(UserRepositoryCustom.class);
+        this.formAnalyticsService = context.getBean(FormAnalyticsService.class);
+        this.jwtUtil = context.getBean(JwtUtil.class);
+    }
+
+    public Seeded seed(LoadTestOptions options) {
+        // Users are created the way registration creates them, with one hash for everyone since
+        // BCrypt per user would dominate the seeding time
+        String password = passwordEncoder.encode(PASSWORD);
+        for (int i = 0; i < options.users(); i++) {
+            userRepositoryCustom.insertUserWithRoles("user" + i + "@loadtest.example.com", "user" + i, password, "USER");
+        }
+        // Clients start signed in, as they would be in steady state; signing in is part of the mix.
+        // Otherwise thousands of clients would open with a BCrypt check each and measure nothing else.
+        List<User> users = jdbcTemplate.query("SELECT id, email FROM users ORDER BY username", (row, i) -> {
+            UUID id = row.getObject("id", UUID.class);
+            String email = row.getString("email");
+            return new User(email, jwtUtil.generateToken(new AuthenticatedUser(id, email, null, List.of("USER"))));
+        });
+
+        List<Template> templates = new ArrayList<>();
+        for (int i = 0; i < options.templates(); i++) {
+            UUID id = UUID.randomUUID();
+            List<Map<String, Object>> schema = SyntheticForms.schema(options.fields(), SyntheticForms.MIXED);
+            List<List<Map<String, Object>>> samples = SyntheticForms.submissions(schema, SAMPLES_PER_TEMPLATE, options.seed() + i);
+            jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                            + "VALUES (?, ?, CAST(? AS jsonb), true, false, now() - ? * interval '1 minute')",
+                    id, "Load test form " + i, SyntheticForms.toJson(schema), i);
+            templates.add(new Template(id, samples));
+        }
+
+        // Spread the backlog evenly, newest submissions first in created_at order like real traffic
+        for (int i = 0; i < templates.size(); i++) {
+            int rows = options.submissions() / templates.size() + (i < options.submissions() % templates.size() ? 1 : 0);
+            jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) "
+                            + "SELECT gen_random_uuid(), s.samples -> (g % jsonb_array_length(s.samples)), ?, "
+                            + "u.ids[1 + g % cardinality(u.ids)], now() - g * interval '1 second' "
+                            + "FROM generate_series(0, ? - 1) g, "
+                            + "(SELECT CAST(? AS jsonb) AS samples) s, "
+                            + "(SELECT array_agg(id) AS ids FROM users) u",
+                    templates.get(i).id(), rows, SyntheticForms.toJson(templates.get(i).samples()));
+        }
+        jdbcTemplate.execute("VACUUM ANALYZE");
+        formAnalyticsService.rebuildAll();
+        return new Seeded(users, templates);
+    }
+
+    public record Seeded(List<User> users, List<Template> templates) {
+    }
+
+    public record User(String email, String token) {
+    }
+
+    public record Template(UUID id, List<List<Map<String, Object>>> samples) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.sandesh.formbuilder.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+// The same load run twice, once on Tomcat's platform thread pool and once with
+// spring.threads.virtual.enabled (and so the form.bulkhead limits), each on a fresh database:
+//
+//   mvn -Ploadtest test-compile exec:exec -Dloadtest.main=com.sandesh.formbuilder.loadtest.ThreadModelComparison
+//
+// Takes the LoadTest arguments, with clients defaulting to 5000.
+public class ThreadModelComparison {
+
+    public static void main(String[] args) throws Exception {
+        String[] withDefaults = Stream.concat(Stream.of("clients=5000"), Stream.of(args)).toArray(String[]::new);
+        LoadTestOptions options = LoadTestOptions.parse(withDefaults);
+
+        System.out.println("== Platform threads ==");
+        LatencyReport platform = LoadTest.run(options.withAppProperty("spring.threads.virtual.enabled", "false"));
+        System.out.println("\n== Virtual threads ==");
+        LatencyReport virtual = LoadTest.run(options.withAppProperty("spring.threads.virtual.enabled", "true"));
+
+        printComparison(platform.rows(), virtual.rows(), options);
+        if (options.report() != null) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("platform", platform.summary(options.withAppProperty("spring.threads.virtual.enabled", "false")));
+            report.put("virtual", virtual.summary(options.withAppProperty("spring.threads.virtual.enabled", "true")));
+            LatencyReport.writeJson(options.report(), report);
+            System.out.println("Report written to " + options.report().toAbsolutePath());
+        }
+        System.exit(0);
+    }
+
+    private static void printComparison(List<LatencyReport.Row> platform, List<LatencyReport.Row> virtual,
+                                        LoadTestOptions options) {
+        Map<String, LatencyReport.Row> virtualByEndpoint = new LinkedHashMap<>();
+        virtual.forEach(row -> virtualByEndpoint.put(row.endpoint(), row));
+
+        System.out.printf("%n%d clients, platform -> virtual%n", options.clients());
+        System.out.printf("%-40s %19s %19s %19s %17s%n", "endpoint", "req/s", "p50 ms", "p99 ms", "errors");
+        for (LatencyReport.Row before : platform) {
+            LatencyReport.Row after = virtualByEndpoint.get(before.endpoint());
+            if (after == null) {
+                continue;
+            }
+            System.out.printf("%-40s %8.1f -> %8.1f %8.1f -> %8.1f %8.1f -> %8.1f %7d -> %7d%n", before.endpoint(),
+                    before.throughput(), after.throughput(), before.p50(), after.p50(), before.p99(), after.p99(),
+                    before.errors(), after.errors());
+        }
+    }
+}
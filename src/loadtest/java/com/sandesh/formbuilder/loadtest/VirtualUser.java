@@ -0,0 +1,218 @@
+package com.sandesh.formbuilder.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sandesh.formbuilder.loadtest.LoadTestOptions.Action;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+// One client: starts signed in as a seeded user and keeps picking actions from the weighted mix until
+// told to stop. Submissions it made are remembered so that edits go to data the user owns. A 503 is
+// answered the way a well-behaved client would, by waiting for Retry-After before the next request.
+class VirtualUser implements Runnable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final List<Seeder.Template> templates;
+    private final LoadTestOptions options;
+    private final LatencyReport report;
+    private final AtomicInteger registrations;
+    private final BooleanSupplier running;
+    private final SplittableRandom random;
+    private final Action[] actions;
+    private final int[] cumulativeWeights;
+
+    private String email;
+    private String token;
+    private UUID ownFormDataId;
+    private Seeder.Template ownTemplate;
+
+    VirtualUser(int index, HttpClient httpClient, String baseUrl, Seeder.Seeded seeded,
+                LoadTestOptions options, LatencyReport report, AtomicInteger registrations, BooleanSupplier running) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.templates = seeded.templates();
+        this.options = options;
+        this.report = report;
+        this.registrations = registrations;
+        this.running = running;
+        this.random = new SplittableRandom(options.seed() + index);
+        Seeder.User user = seeded.users().get(index % seeded.users().size());
+        this.email = user.email();
+        this.token = user.token();
+
+        actions = options.mix().keySet().toArray(Action[]::new);
+        cumulativeWeights = new int[actions.length];
+        int total = 0;
+        for (int i = 0; i < actions.length; i++) {
+            total += options.mix().get(actions[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running.getAsBoolean()) {
+            try {
+                if (token == null) {
+                    login();
+                } else {
+                    step(nextAction());
+                }
+                if (!options.thinkTime().isZero()) {
+                    Thread.sleep(options.thinkTime());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Action nextAction() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < actions.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return actions[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void step(Action action) throws InterruptedException {
+        switch (action) {
+            case REGISTER -> register();
+            case LOGIN -> login();
+            case LIST -> send("GET /api/forms", get("/api/forms?offset=" + random.nextInt(Math.max(1, templates.size() - 9)) + "&limit=10"));
+            case GET -> send("GET /api/forms/{id}", get("/api/forms/" + randomTemplate().id()));
+            case SUBMIT -> submit();
+            case EDIT -> edit();
+            case EXPORT -> export();
+        }
+    }
+
+    private void register() throws InterruptedException {
+        String newEmail = "registered" + registrations.incrementAndGet() + "@loadtest.example.com";
+        String body = SyntheticForms.toJson(Map.of(
+                "email", newEmail,
+                "username", newEmail.substring(0, newEmail.indexOf('@')),
+                "password", Seeder.PASSWORD,
+                "role", "USER"));
+        if (send("POST /api/auth/register", post("/api/auth/register", body)) != null) {
+            email = newEmail;
+            login();
+        }
+    }
+
+    private void login() throws InterruptedException {
+        String body = SyntheticForms.toJson(Map.of("email", email, "password", Seeder.PASSWORD));
+        JsonNode response = send("POST /api/auth/login", post("/api/auth/login", body));
+        if (response != null) {
+            token = response.path("data").path("token").asText();
+            ownFormDataId = null;
+        }
+    }
+
+    private void submit() throws InterruptedException {
+        Seeder.Template template = randomTemplate();
+        // A quarter of the submitters ask for the receipt email, which goes through the outbox
+        String path = "/api/forms/" + template.id() + "/data?provideResponse=" + (random.nextInt(4) == 0);
+        JsonNode response = send("POST /api/forms/{id}/data", post(path, randomSubmission(template)));
+        if (response != null) {
+            ownFormDataId = UUID.fromString(response.path("data").path("formDataId").asText());
+            ownTemplate = template;
+        }
+    }
+
+    private void edit() throws InterruptedException {
+        if (ownFormDataId == null) {
+            submit();
+            return;
+        }
+        HttpRequest request = authorized("/api/forms/data/" + ownFormDataId)
+                .PUT(HttpRequest.BodyPublishers.ofString(randomSubmission(ownTemplate)))
+                .header("Content-Type", "application/json")
+                .build();
+        send("PUT /api/forms/data/{id}", request);
+    }
+
+    // Exports can be large; the body is read to the end but not kept
+    private void export() throws InterruptedException {
+        HttpRequest request = get("/api/forms/" + randomTemplate().id() + "/data/export.csv");
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            report.record("GET /api/forms/{id}/data/export.csv", start, System.nanoTime(), response.statusCode());
+            backOff(response);
+        } catch (IOException e) {
+            report.record("GET /api/forms/{id}/data/export.csv", start, System.nanoTime(), 0);
+        }
+    }
+
+    private void backOff(HttpResponse<?> response) throws InterruptedException {
+        if (response.statusCode() == 503) {
+            long seconds = response.headers().firstValue("Retry-After").map(Long::parseLong).orElse(1L);
+            Thread.sleep(Duration.ofSeconds(seconds));
+        } else if (response.statusCode() == 401 || response.statusCode() == 403) {
+            token = null;
+        }
+    }
+
+    private Seeder.Template randomTemplate() {
+        return templates.get(random.nextInt(templates.size()));
+    }
+
+    private String randomSubmission(Seeder.Template template) {
+        return SyntheticForms.requestBody(template.samples().get(random.nextInt(template.samples().size())));
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(path).GET().build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return authorized(path)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .header("Content-Type", "application/json")
+                .build();
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null && !path.startsWith("/api/auth/")) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // The parsed JSON body of a 2xx response (an empty node for non-JSON bodies), or null on failure
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            report.record(endpoint, start, System.nanoTime(), response.statusCode());
+            if (response.statusCode() / 100 != 2) {
+                backOff(response);
+                return null;
+            }
+            boolean json = response.headers().firstValue("Content-Type").orElse("").contains("json");
+            return json ? SyntheticForms.OBJECT_MAPPER.readTree(response.body()) : SyntheticForms.OBJECT_MAPPER.missingNode();
+        } catch (IOException e) {
+            report.record(endpoint, start, System.nanoTime(), 0);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sandesh.formbuilder.config;
+
+import com.sandesh.formbuilder.enums.Workload;
+import com.sandesh.formbuilder.util.Bulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Concurrency budgets for API requests (form.bulkhead.*). On platform threads the Tomcat pool
+// bounds how many requests reach the database; with spring.threads.virtual.enabled there is no such
+// bound, so the bulkheads are on by default in that mode. Sign-ins, submissions and exports get
+// budgets of their own so a burst of one can't starve the others or the rest of the API.
+@Configuration
+@ConditionalOnExpression("${form.bulkhead.enabled:${spring.threads.virtual.enabled:false}}")
+public class BulkheadConfig implements WebMvcConfigurer {
+
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+
+    public BulkheadConfig(DataSource dataSource, Environment environment, MeterRegistry meterRegistry) {
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+        // Most requests hold a connection for only part of their time, so general and submission
+        // traffic may each use the whole pool. An export holds one until the last row is written,
+        // so exports only ever get a quarter of it.
+        bulkheads.put(Workload.GENERAL, bulkhead(environment, meterRegistry, "general", poolSize, Duration.ofSeconds(1)));
+        // A sign-in reads one user and then waits for BCrypt (auth.password-hashing) without a connection
+        bulkheads.put(Workload.AUTH, bulkhead(environment, meterRegistry, "auth", poolSize, Duration.ofSeconds(1)));
+        bulkheads.put(Workload.SUBMISSION, bulkhead(environment, meterRegistry, "submission", poolSize, Duration.ofSeconds(1)));
+        bulkheads.put(Workload.EXPORT, bulkhead(environment, meterRegistry, "export", Math.max(1, poolSize / 4), Duration.ZERO));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new BulkheadInterceptor(bulkheads))
+                .addPathPatterns("/api/**");
+    }
+
+    // form.bulkhead.<name>.max-concurrent (0 = the default derived from the pool) and .max-wait
+    private static Bulkhead bulkhead(Environment environment, MeterRegistry meterRegistry, String name,
+                                     int defaultMaxConcurrent, Duration defaultMaxWait) {
+        int maxConcurrent = environment.getProperty("form.bulkhead." + name + ".max-concurrent", Integer.class, 0);
+        Duration maxWait = environment.getProperty("form.bulkhead." + name + ".max-wait", Duration.class, defaultMaxWait);
+        return new Bulkhead(name, maxConcurrent > 0 ? maxConcurrent : defaultMaxConcurrent, maxWait, meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.sandesh.formbuilder.config;
+
+import com.sandesh.formbuilder.enums.Workload;
+import com.sandesh.formbuilder.util.Bulkhead;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.Set;
+
+// Takes a permit from the request's workload bulkhead before the controller runs and gives it back
+// when the request completes. A streamed export keeps its permit until the async dispatch that
+// finishes the stream, not just until the controller method returns.
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".permit";
+
+    private static final Set<String> SIGN_INS = Set.of(
+            "POST /api/auth/login",
+            "POST /api/auth/register");
+
+    private static final Set<String> SUBMISSIONS = Set.of(
+            "POST /api/forms/{id}/data",
+            "POST /api/forms/{id}/data/batch",
+            "PUT /api/forms/data/{id}");
+
+    private static final Set<String> EXPORTS = Set.of(
+            "GET /api/forms/{id}/data/excel-sheet",
+            "GET /api/forms/{id}/data/export.csv",
+            "GET /api/forms/{id}/data/export.ndjson",
+            "GET /api/forms/{id}/data/export.zip");
+
+    // Served from memory and the export file store without a connection, so they take no permit
+    private static final Set<String> UNBOUNDED = Set.of(
+            "GET /api/exports/{jobId}",
+            "GET /api/exports/{jobId}/file");
+
+    private final Map<Workload, Bulkhead> bulkheads;
+
+    public BulkheadInterceptor(Map<Workload, Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch of a streaming response still holds the permit from the first dispatch
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Workload workload = workload(request);
+        if (workload == null) {
+            return true;
+        }
+        Bulkhead bulkhead = bulkheads.get(workload);
+        bulkhead.acquire();
+        request.setAttribute(PERMIT_ATTRIBUTE, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            bulkhead.release();
+        }
+    }
+
+    // null for routes that don't touch the database
+    static Workload workload(HttpServletRequest request) {
+        String route = request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (UNBOUNDED.contains(route)) {
+            return null;
+        }
+        if (SIGN_INS.contains(route)) {
+            return Workload.AUTH;
+        }
+        if (SUBMISSIONS.contains(route)) {
+            return Workload.SUBMISSION;
+        }
+        if (EXPORTS.contains(route)) {
+            return Workload.EXPORT;
+        }
+        return Workload.GENERAL;
+    }
+}
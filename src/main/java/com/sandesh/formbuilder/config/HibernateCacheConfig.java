@@ -0,0 +1,72 @@
+package com.sandesh.formbuilder.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// Hibernate second-level and query cache on Caffeine through JCache. Every region is created here
+// with a bounded size and TTL (form.l2-cache.<region>.max-size / .ttl, 0s = no expiry), and
+// Hibernate refuses to start if an entity asks for a region that is not listed.
+@Configuration
+public class HibernateCacheConfig {
+
+    private static final List<Region> REGIONS = List.of(
+            new Region("role", 100, Duration.ZERO),
+            new Region("user", 10_000, Duration.ofMinutes(10)),
+            new Region("user-roles", 10_000, Duration.ofMinutes(10)),
+            new Region("form-template", 1_000, Duration.ofHours(1)),
+            new Region("default-query-results-region", 1_000, Duration.ofMinutes(10)));
+
+    // Last-write time per table, checked before any cached query result is used; it must never lose
+    // an entry, so it is neither bounded nor expired (it holds one entry per table)
+    private static final String TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // A manager of its own, so contexts sharing a JVM (tests) never see each other's regions
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("formbuilder-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+        for (Region region : REGIONS) {
+            long maxSize = environment.getProperty("form.l2-cache." + region.name() + ".max-size", Long.class, region.maxSize());
+            Duration ttl = environment.getProperty("form.l2-cache." + region.name() + ".ttl", Duration.class, region.ttl());
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            if (!ttl.isZero()) {
+                configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            }
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region.name(), configuration);
+        }
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private record Region(String name, long maxSize, Duration ttl) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.sandesh.formbuilder.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Times every method annotated with @Timed. Service operations are recorded as form.operation
+// (tagged operation, class, method, exception) with percentile histograms for p99 queries.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -1,7 +1,11 @@
 package  com.sandesh.formbuilder.config;
 
 
+import com.sandesh.formbuilder.service.auth.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +22,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 
@@ -32,9 +37,17 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
 
+    // Hashes with BCrypt at the configured strength on a bounded pool. Stored hashes with a lower
+    // strength are re-hashed on the user's next successful login (CustomUserDetailsService.updatePassword).
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password-hashing.strength:10}") int strength,
+                                           @Value("${auth.password-hashing.threads:0}") int threads,
+                                           @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                           @Value("${auth.password-hashing.timeout:5s}") Duration timeout) {
+        // 0 leaves half the cores for request handling
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), poolSize, queueCapacity, timeout, meterRegistry);
     }
 
     @Bean
@@ -51,6 +64,10 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize ->
                         authorize
                                 .requestMatchers("/api/auth/**").permitAll()
+                                // Scraped by Prometheus without a token; run the management port off the public listener
+                                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                                // Streaming responses finish on an async dispatch of an already authorized request
+                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                 .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
@@ -0,0 +1,132 @@
+package com.sandesh.formbuilder.controller;
+
+import com.sandesh.formbuilder.dto.ExportJobResponse;
+import com.sandesh.formbuilder.enums.ExportFormat;
+import com.sandesh.formbuilder.service.export.ExportJobFile;
+import com.sandesh.formbuilder.service.export.ExportJobService;
+import com.sandesh.formbuilder.util.APIResponse;
+import com.sandesh.formbuilder.util.ByteRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+// Background exports: POST starts a job and answers 202 with its status URL, the client polls
+// that until the job is COMPLETED and then downloads the file, resuming with Range if cut off.
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api")
+public class ExportController {
+
+    // Set by Tomcat's NIO connector when it can send a file itself once the servlet returns
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportJobService exportJobService;
+
+    @PostMapping("/forms/{id}/exports")
+    public ResponseEntity<APIResponse<ExportJobResponse>> createExport(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "xlsx") String format) {
+
+        ExportJobResponse exportJobResponse = exportJobService.createJob(id, ExportFormat.fromExtension(format));
+
+        APIResponse<ExportJobResponse> apiResponse = new APIResponse<>(
+                HttpStatus.ACCEPTED,
+                "Export job accepted",
+                exportJobResponse
+        );
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/exports/" + exportJobResponse.getJobId()))
+                .body(apiResponse);
+    }
+
+    @GetMapping("/exports/{jobId}")
+    public ResponseEntity<APIResponse<ExportJobResponse>> getExport(@PathVariable UUID jobId) {
+
+        ExportJobResponse exportJobResponse = exportJobService.getJob(jobId);
+
+        APIResponse<ExportJobResponse> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Export job retrieved successfully",
+                exportJobResponse
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+    // Serves one byte range at most; If-Range with a stale ETag gets the whole file again
+    @GetMapping("/exports/{jobId}/file")
+    public void downloadExport(@PathVariable UUID jobId, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ExportJobFile file = exportJobService.getJobFile(jobId);
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        ByteRange range = ifRange == null || ifRange.equals(file.etag())
+                ? ByteRange.parse(request.getHeader(HttpHeaders.RANGE), file.size())
+                : null;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, file.etag());
+        if (range == ByteRange.UNSATISFIABLE) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + file.size());
+            return;
+        }
+
+        long start = 0;
+        long length = file.size();
+        if (range != null) {
+            start = range.start();
+            length = range.length();
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.contentRange(file.size()));
+        }
+        response.setContentType(file.contentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + file.fileName());
+        response.setContentLengthLong(length);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat hands the file to the kernel (FileChannel.transferTo) after this request thread returns
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        transfer(file, start, length, response);
+    }
+
+    private static void transfer(ExportJobFile file, long start, long length, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long end = start + length;
+            while (position < end) {
+                long transferred = channel.transferTo(position, end - position, out);
+                if (transferred <= 0) {
+                    throw new EOFException("Export file " + file.path() + " ended before byte " + end);
+                }
+                position += transferred;
+            }
+        }
+    }
+}
@@ -1,21 +1,35 @@
 package com.sandesh.formbuilder.controller;
 
-import com.sandesh.formbuilder.dto.FormDataRequest;
+import com.sandesh.formbuilder.dto.BatchSubmissionResponse;
+import com.sandesh.formbuilder.dto.CursorPageResponse;
+import com.sandesh.formbuilder.dto.FormAnalyticsResponse;
 import com.sandesh.formbuilder.dto.FormDataResponse;
 import com.sandesh.formbuilder.dto.FormRequest;
 import com.sandesh.formbuilder.dto.FormResponse;
+import com.sandesh.formbuilder.service.analytics.FormAnalyticsService;
+import com.sandesh.formbuilder.service.export.ExportService;
+import com.sandesh.formbuilder.service.form.BatchSubmissionService;
+import com.sandesh.formbuilder.service.form.CachedFormResponse;
 import com.sandesh.formbuilder.service.form.FormService;
 import com.sandesh.formbuilder.util.APIResponse;
+import com.sandesh.formbuilder.util.AcceptEncoding;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api")
@@ -23,6 +37,9 @@ import java.util.UUID;
 public class FormController {
 
     private final FormService formService;
+    private final BatchSubmissionService batchSubmissionService;
+    private final ExportService exportService;
+    private final FormAnalyticsService formAnalyticsService;
 
     @PostMapping("/forms")
     @PreAuthorize("hasRole('ADMIN')")
@@ -56,25 +73,41 @@ public class FormController {
         return new ResponseEntity<>(apiResponse, HttpStatus.OK);
     }
 
-    @GetMapping("/forms/{id}")
-    public ResponseEntity<APIResponse<FormResponse>> getFormtemplateById(@PathVariable UUID id){
-        FormResponse form= formService.getFormTemplateById(id);
+    // Keyset variant, selected by the presence of ?cursor (empty for the first page)
+    @GetMapping(value = "/forms", params = "cursor")
+    public ResponseEntity<APIResponse<CursorPageResponse<FormResponse>>> getAllFormsByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String name) {
 
+        CursorPageResponse<FormResponse> forms = formService.getAllForms(cursor, limit, name);
 
-        APIResponse<FormResponse> apiResponse = new APIResponse<>(
+        APIResponse<CursorPageResponse<FormResponse>> apiResponse = new APIResponse<>(
                 HttpStatus.OK,
-                "Form retrieved successfully",
-                form
+                "Forms retrieved successfully",
+                forms
         );
 
-        return new ResponseEntity<>(apiResponse,HttpStatus.OK);
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+    // Served from pre-serialized bytes. Spring answers a matching If-None-Match with 304 Not Modified.
+    @GetMapping("/forms/{id}")
+    public ResponseEntity<byte[]> getFormtemplateById(@PathVariable UUID id){
+        CachedFormResponse form = formService.getFormTemplateById(id);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(form.etag())
+                .cacheControl(form.cacheControl())
+                .body(form.body());
 
     }
 
 
     @PostMapping("/forms/{id}/data")
     public ResponseEntity<APIResponse<FormDataResponse>> fillUpForm(
-            @RequestBody FormDataRequest formDataRequest,
+            InputStream formDataRequest,
             @PathVariable UUID id,
             @RequestParam(defaultValue = "false") boolean provideResponse) {
 
@@ -89,6 +122,26 @@ public class FormController {
         return new ResponseEntity<>(apiResponse, HttpStatus.OK);
     }
 
+    // Body is a JSON array of {"jsonData": [...]} objects, or one such object per line as application/x-ndjson
+    @PostMapping(value = "/forms/{id}/data/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<APIResponse<BatchSubmissionResponse>> fillUpFormBatch(
+            InputStream formDataRequest,
+            @PathVariable UUID id,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            @RequestParam(defaultValue = "false") boolean provideResponse) {
+
+        boolean ndjson = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType);
+        BatchSubmissionResponse batchSubmissionResponse = batchSubmissionService.fillUpForms(formDataRequest, id, ndjson, provideResponse);
+
+        APIResponse<BatchSubmissionResponse> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Batch processed: " + batchSubmissionResponse.getAccepted() + " accepted, " + batchSubmissionResponse.getRejected() + " rejected",
+                batchSubmissionResponse
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
     @GetMapping("/forms/{id}/data")
     public ResponseEntity<APIResponse<List<FormDataResponse>>> getFormDataByTemplateId(
             @PathVariable UUID id,
@@ -106,6 +159,44 @@ public class FormController {
         return new ResponseEntity<>(apiResponse, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/forms/{id}/data", params = {"cursor", "!filter"})
+    public ResponseEntity<APIResponse<CursorPageResponse<FormDataResponse>>> getFormDataByTemplateIdAndCursor(
+            @PathVariable UUID id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        CursorPageResponse<FormDataResponse> formDataResponses = formService.getFormDataByTemplateId(id, cursor, limit);
+
+        APIResponse<CursorPageResponse<FormDataResponse>> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Form data retrieved successfully",
+                formDataResponses
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+    // Filters are key:op:value, e.g. ?filter=age:gte:18&filter=subscribed:eq:true; all must match
+    @GetMapping(value = "/forms/{id}/data", params = "filter")
+    public ResponseEntity<APIResponse<CursorPageResponse<FormDataResponse>>> getFormDataByTemplateIdAndFilter(
+            @PathVariable UUID id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int limit,
+            HttpServletRequest request) {
+
+        // Read raw so a single filter value containing commas isn't split into several
+        List<String> filters = List.of(request.getParameterValues("filter"));
+        CursorPageResponse<FormDataResponse> formDataResponses = formService.getFormDataByTemplateId(id, filters, cursor, limit);
+
+        APIResponse<CursorPageResponse<FormDataResponse>> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Form data retrieved successfully",
+                formDataResponses
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
     @GetMapping("/forms/{id}/response")
     public ResponseEntity<APIResponse<List<FormDataResponse>>> getFormResponseByTemplateId(
             @PathVariable UUID id) {
@@ -122,6 +213,68 @@ public class FormController {
     }
 
 
+    @GetMapping(value = "/forms/{id}/response", params = "cursor")
+    public ResponseEntity<APIResponse<CursorPageResponse<FormDataResponse>>> getFormResponseByTemplateIdAndCursor(
+            @PathVariable UUID id,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        CursorPageResponse<FormDataResponse> formDataResponses = formService.getFormResponseByTemplateId(id, cursor, limit);
+
+        APIResponse<CursorPageResponse<FormDataResponse>> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Form data retrieved successfully",
+                formDataResponses
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+
+    @GetMapping("/forms/{id}/analytics")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<APIResponse<FormAnalyticsResponse>> getFormAnalytics(@PathVariable UUID id) {
+
+        FormAnalyticsResponse formAnalyticsResponse = formAnalyticsService.getAnalytics(id);
+
+        APIResponse<FormAnalyticsResponse> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Form analytics retrieved successfully",
+                formAnalyticsResponse
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+    // Recomputes a template's statistics from its submissions, e.g. after a backfill
+    @PostMapping("/forms/{id}/analytics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<APIResponse<Object>> rebuildFormAnalytics(@PathVariable UUID id) {
+
+        formAnalyticsService.rebuild(id);
+
+        APIResponse<Object> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Form analytics rebuilt successfully"
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
+    @PostMapping("/forms/analytics/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<APIResponse<Object>> rebuildAllFormAnalytics() {
+
+        int rebuilt = formAnalyticsService.rebuildAll();
+
+        APIResponse<Object> apiResponse = new APIResponse<>(
+                HttpStatus.OK,
+                "Form analytics rebuilt for " + rebuilt + " templates"
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+    }
+
     @DeleteMapping("/forms/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<APIResponse<Object>> deleteFormTemplateByTemplateId(@PathVariable UUID id){
@@ -152,7 +305,7 @@ public class FormController {
 
 
     @PutMapping("/forms/data/{id}")
-    public ResponseEntity<APIResponse<FormDataResponse>> editFormById(@PathVariable UUID id, @RequestBody FormDataRequest newFormData){
+    public ResponseEntity<APIResponse<FormDataResponse>> editFormById(@PathVariable UUID id, InputStream newFormData){
         FormDataResponse formDataResponse= formService.editFormDataById(id,newFormData);
 
         APIResponse<FormDataResponse> apiResponse = new APIResponse<>(
@@ -181,7 +334,7 @@ public class FormController {
     @GetMapping("/forms/{id}/data/excel-sheet")
     public ResponseEntity<APIResponse<Object>> exportExcelSheet(@PathVariable UUID id , HttpServletResponse response){
 
-        formService.exportFormDataToExcel(id,response);
+        exportService.exportFormDataToExcel(id,response);
 
         APIResponse<Object> apiResponse = new APIResponse<>(
                 HttpStatus.OK,
@@ -191,7 +344,63 @@ public class FormController {
         return new ResponseEntity<>(apiResponse,HttpStatus.OK);
     }
 
+    @GetMapping("/forms/{id}/data/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        String filename = exportService.getExportFileName(id, "csv");
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = gzipIfAccepted(gzip, outputStream -> exportService.exportFormDataToCsv(id, outputStream));
+
+        return streamingResponse(new MediaType("text", "csv", StandardCharsets.UTF_8), filename, gzip, body);
+    }
+
+    @GetMapping("/forms/{id}/data/export.ndjson")
+    public ResponseEntity<StreamingResponseBody> exportNdjson(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        String filename = exportService.getExportFileName(id, "ndjson");
+        boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = gzipIfAccepted(gzip, outputStream -> exportService.exportFormDataToNdjson(id, outputStream));
+
+        return streamingResponse(MediaType.APPLICATION_NDJSON, filename, gzip, body);
+    }
+
+    // Workbooks of at most form.export.max-rows-per-file rows each, zipped as they are written
+    @GetMapping("/forms/{id}/data/export.zip")
+    public ResponseEntity<StreamingResponseBody> exportExcelParts(@PathVariable UUID id) {
 
+        String filename = exportService.getExportFileName(id, "zip");
 
+        StreamingResponseBody body = outputStream -> exportService.exportFormDataToExcelParts(id, outputStream);
+
+        return streamingResponse(MediaType.parseMediaType("application/zip"), filename, false, body);
+    }
+
+    private static StreamingResponseBody gzipIfAccepted(boolean gzip, StreamingResponseBody body) {
+        if (!gzip) {
+            return body;
+        }
+        return outputStream -> {
+            GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream, 64 * 1024);
+            body.writeTo(gzipOutputStream);
+            gzipOutputStream.finish();
+        };
+    }
+
+    private static ResponseEntity<StreamingResponseBody> streamingResponse(MediaType mediaType, String filename, boolean gzip, StreamingResponseBody body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
 
 }
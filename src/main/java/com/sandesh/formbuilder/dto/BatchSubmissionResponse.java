@@ -0,0 +1,12 @@
+package com.sandesh.formbuilder.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchSubmissionResponse {
+    private int accepted;
+    private int rejected;
+    private List<BatchSubmissionResult> results;
+}
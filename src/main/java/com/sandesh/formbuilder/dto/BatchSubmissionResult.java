@@ -0,0 +1,19 @@
+package com.sandesh.formbuilder.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sandesh.formbuilder.enums.SubmissionStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Outcome of one record of a batch; index is its 0-based position in the request body
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchSubmissionResult {
+    private int index;
+    private SubmissionStatus status;
+    private UUID formDataId;
+    private LocalDateTime createdAt;
+    private String error;
+}
@@ -0,0 +1,16 @@
+package com.sandesh.formbuilder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+    private List<T> items;
+    // Pass back as ?cursor= to fetch the next page; null on the last page
+    private String nextCursor;
+}
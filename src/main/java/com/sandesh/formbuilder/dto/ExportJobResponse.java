@@ -0,0 +1,24 @@
+package com.sandesh.formbuilder.dto;
+
+import com.sandesh.formbuilder.enums.ExportFormat;
+import com.sandesh.formbuilder.enums.ExportJobStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class ExportJobResponse {
+    private UUID jobId;
+    private UUID templateId;
+    private ExportFormat format;
+    private ExportJobStatus status;
+    private String fileName;
+    // Set once the job has completed
+    private Long size;
+    private String downloadUrl;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private LocalDateTime expiresAt;
+}
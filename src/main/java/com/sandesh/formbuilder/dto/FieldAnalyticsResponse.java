@@ -0,0 +1,28 @@
+package com.sandesh.formbuilder.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+// Only the statistics that apply to the field's type are set
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FieldAnalyticsResponse {
+    private String key;
+    private String label;
+    private String type;
+    // Number of submissions with a value for this field
+    private long count;
+    // dropdown: per option, checkbox: "true"/"false"
+    private Map<String, Long> counts;
+    // number
+    private BigDecimal min;
+    private BigDecimal max;
+    private BigDecimal mean;
+    private List<HistogramBucket> histogram;
+    // date/datetime: per calendar day (yyyy-MM-dd), oldest first
+    private Map<String, Long> dateHistogram;
+}
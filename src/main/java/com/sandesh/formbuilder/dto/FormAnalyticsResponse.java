@@ -0,0 +1,13 @@
+package com.sandesh.formbuilder.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class FormAnalyticsResponse {
+    private UUID templateId;
+    private String name;
+    private List<FieldAnalyticsResponse> fields;
+}
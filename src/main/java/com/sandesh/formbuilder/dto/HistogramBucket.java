@@ -0,0 +1,17 @@
+package com.sandesh.formbuilder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HistogramBucket {
+    // Lower bound inclusive; upper bound exclusive except for the last bucket
+    private BigDecimal from;
+    private BigDecimal to;
+    private long count;
+}
@@ -0,0 +1,50 @@
+package com.sandesh.formbuilder.entity;
+
+import com.sandesh.formbuilder.enums.EmailOutboxStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Emails waiting to be delivered by EmailOutboxDispatcher. Rows are written in the
+// same transaction as the data they describe and deleted once sent.
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_status_next_attempt", columnList = "status, next_attempt_at"))
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailOutboxStatus status = EmailOutboxStatus.PENDING;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -20,7 +22,8 @@ public class FormData {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Lob
+    // Stored as jsonb so PostgreSQL can query and index it; the String is the raw JSON document
+    @JdbcTypeCode(SqlTypes.JSON)
     private String jsonData;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,34 @@
+package com.sandesh.formbuilder.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Written only through FormFieldStatRepository's native statements; see V6__form_field_stats.sql and
+// V9__form_field_stat_deltas.sql
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "form_field_stats")
+public class FormFieldStat {
+
+    @EmbeddedId
+    private FormFieldStatId id;
+
+    // Number fields only: sum, smallest and largest of the values counted in this bucket
+    @Column(name = "number_sum")
+    private BigDecimal numberSum;
+
+    @Column(name = "number_min")
+    private BigDecimal numberMin;
+
+    @Column(name = "number_max")
+    private BigDecimal numberMax;
+
+    @Column(name = "value_count", nullable = false)
+    private long valueCount;
+}
@@ -0,0 +1,26 @@
+package com.sandesh.formbuilder.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FormFieldStatId implements Serializable {
+
+    @Column(name = "form_template_id", nullable = false)
+    private UUID formTemplateId;
+
+    @Column(name = "field_key", nullable = false)
+    private String fieldKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String bucket;
+}
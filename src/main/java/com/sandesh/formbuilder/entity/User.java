@@ -5,14 +5,19 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 
+// Only the password is ever updated (re-hash at login), through a bulk update that clears the region
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "user")
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "users")
@@ -30,6 +35,7 @@ public class User {
     private String password;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "user-roles")
     @JoinTable(
             name = "users_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,5 @@
+package com.sandesh.formbuilder.enums;
+
+public enum EmailOutboxStatus {
+    PENDING, SENDING, FAILED
+}
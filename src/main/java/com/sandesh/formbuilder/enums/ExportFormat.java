@@ -0,0 +1,34 @@
+package com.sandesh.formbuilder.enums;
+
+public enum ExportFormat {
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"),
+    CSV("csv", "text/csv;charset=UTF-8"),
+    NDJSON("ndjson", "application/x-ndjson"),
+    // .xlsx parts of at most form.export.max-rows-per-file rows each, zipped
+    ZIP("zip", "application/zip");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static ExportFormat fromExtension(String extension) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + extension + " (expected xlsx, csv, ndjson or zip)");
+    }
+}
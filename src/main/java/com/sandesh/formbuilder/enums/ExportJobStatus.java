@@ -0,0 +1,5 @@
+package com.sandesh.formbuilder.enums;
+
+public enum ExportJobStatus {
+    QUEUED, RUNNING, COMPLETED, FAILED
+}
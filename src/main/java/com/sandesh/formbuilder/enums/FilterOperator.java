@@ -0,0 +1,15 @@
+package com.sandesh.formbuilder.enums;
+
+public enum FilterOperator {
+    EQ("="), GT(">"), GTE(">="), LT("<"), LTE("<=");
+
+    private final String sqlOperator;
+
+    FilterOperator(String sqlOperator) {
+        this.sqlOperator = sqlOperator;
+    }
+
+    public String getSqlOperator() {
+        return sqlOperator;
+    }
+}
@@ -0,0 +1,6 @@
+package com.sandesh.formbuilder.enums;
+
+// Steps of a single submission, timed separately as form.submit.phase
+public enum SubmissionPhase {
+    AUTH, TEMPLATE, VALIDATION, INSERT, EMAIL
+}
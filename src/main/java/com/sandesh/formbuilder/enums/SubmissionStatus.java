@@ -0,0 +1,6 @@
+package com.sandesh.formbuilder.enums;
+
+public enum SubmissionStatus {
+    CREATED,
+    REJECTED
+}
@@ -0,0 +1,6 @@
+package com.sandesh.formbuilder.enums;
+
+// Kinds of API request that get their own concurrency budget (form.bulkhead.<workload>)
+public enum Workload {
+    GENERAL, AUTH, SUBMISSION, EXPORT
+}
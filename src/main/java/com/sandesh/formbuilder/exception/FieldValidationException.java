@@ -0,0 +1,18 @@
+package com.sandesh.formbuilder.exception;
+
+import com.sandesh.formbuilder.enums.FormFieldType;
+
+// A submitted value was rejected by the field it was checked against; still a 400 like any IllegalArgumentException
+public class FieldValidationException extends IllegalArgumentException {
+
+    private final FormFieldType fieldType;
+
+    public FieldValidationException(FormFieldType fieldType, String message) {
+        super(message);
+        this.fieldType = fieldType;
+    }
+
+    public FormFieldType getFieldType() {
+        return fieldType;
+    }
+}
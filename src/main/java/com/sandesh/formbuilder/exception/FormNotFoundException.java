@@ -0,0 +1,8 @@
+package com.sandesh.formbuilder.exception;
+
+// The requested form template does not exist, or no longer does
+public class FormNotFoundException extends RuntimeException {
+    public FormNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.sandesh.formbuilder.exception;
 
 import com.sandesh.formbuilder.util.APIResponse;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -12,6 +13,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -53,6 +55,17 @@ public class GlobalExceptionHandler{
         return new ResponseEntity<>(response,HttpStatus.BAD_REQUEST);
     }
 
+    // A query parameter that does not convert, e.g. a limit too large for an int
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<APIResponse<Object>> handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        APIResponse<Object> response = new APIResponse<>(
+                HttpStatus.BAD_REQUEST,
+                "Invalid Request",
+                Collections.singletonList("Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'")
+        );
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(UsernameNotFoundException.class)
     public ResponseEntity<APIResponse<Object>> handleUsernameNotFoundException(UsernameNotFoundException ex) {
         APIResponse<Object> response = new APIResponse<>(
@@ -122,6 +135,28 @@ public class GlobalExceptionHandler{
         return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler(FormNotFoundException.class)
+    public ResponseEntity<APIResponse<Object>> handleFormNotFoundException(FormNotFoundException ex) {
+        APIResponse<Object> response = new APIResponse<>(
+                HttpStatus.NOT_FOUND,
+                "Form not found",
+                Collections.singletonList(ex.getMessage())
+        );
+        return new ResponseEntity<>(response, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(ServerBusyException.class)
+    public ResponseEntity<APIResponse<Object>> handleServerBusyException(ServerBusyException ex) {
+        APIResponse<Object> response = new APIResponse<>(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "The server is busy",
+                Collections.singletonList(ex.getMessage())
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<APIResponse<Object>> handleRuntimeException(RuntimeException ex) {
 
@@ -0,0 +1,8 @@
+package com.sandesh.formbuilder.exception;
+
+// The request was turned away because a bounded queue is full; the client should retry shortly
+public class ServerBusyException extends RuntimeException {
+    public ServerBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.sandesh.formbuilder.repository;
+
+import com.sandesh.formbuilder.entity.EmailOutbox;
+import com.sandesh.formbuilder.enums.EmailOutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, UUID> {
+
+    // SKIP LOCKED lets several application instances claim batches without sending twice. A SENDING
+    // row's next_attempt_at is its lease; once that passes, the instance sending it is presumed dead.
+    @Query(value = "SELECT * FROM email_outbox WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= ?1 ORDER BY next_attempt_at LIMIT ?2 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EmailOutbox> lockNextBatch(LocalDateTime now, int batchSize);
+
+    long countByStatus(EmailOutboxStatus status);
+}
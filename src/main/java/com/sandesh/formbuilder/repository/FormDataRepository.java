@@ -1,18 +1,47 @@
 package com.sandesh.formbuilder.repository;
 
 import com.sandesh.formbuilder.entity.FormData;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
-public interface FormDataRepository extends JpaRepository<FormData, UUID> {
-    List<FormData> findByFormTemplateId(UUID formTemplateId);
+public interface FormDataRepository extends JpaRepository<FormData, UUID>, FormDataRepositoryCustom {
+    // Native so it never joins form_template for an id form_data already holds
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM form_data WHERE form_template_id = ?1)", nativeQuery = true)
+    boolean existsByFormTemplateId(UUID formTemplateId);
+
+    // Server-side cursor for exports, in idx_form_data_template_created order read backwards; must be
+    // consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM FormData f WHERE f.formTemplate.id = ?1 ORDER BY f.createdAt, f.id")
+    Stream<FormData> streamByFormTemplateId(UUID formTemplateId);
 
     @Query(value = "SELECT * FROM form_data WHERE form_template_id = ?1 ORDER BY created_at DESC LIMIT ?3 OFFSET ?2", nativeQuery = true)
     List<FormData> findByFormTemplateIdWithOffsetAndLimit(UUID templateId, int offset, int limit);
 
     @Query(value = "SELECT * FROM form_data WHERE form_template_id = ?1 AND user_id = ?2 ORDER BY created_at DESC", nativeQuery = true)
     List<FormData> findByFormTemplateIdAndUserId(UUID formTemplateId, UUID userId);
+
+    // Keyset pagination over (created_at, id); cost is independent of how deep the page is
+    @Query(value = "SELECT * FROM form_data WHERE form_template_id = ?1 ORDER BY created_at DESC, id DESC LIMIT ?2", nativeQuery = true)
+    List<FormData> findFirstPageByFormTemplateId(UUID templateId, int limit);
+
+    @Query(value = "SELECT * FROM form_data WHERE form_template_id = ?1 AND (created_at, id) < (?2, ?3) ORDER BY created_at DESC, id DESC LIMIT ?4", nativeQuery = true)
+    List<FormData> findPageByFormTemplateIdAfter(UUID templateId, LocalDateTime createdAt, UUID id, int limit);
+
+    @Query(value = "SELECT * FROM form_data WHERE form_template_id = ?1 AND user_id = ?2 ORDER BY created_at DESC, id DESC LIMIT ?3", nativeQuery = true)
+    List<FormData> findFirstPageByFormTemplateIdAndUserId(UUID templateId, UUID userId, int limit);
+
+    @Query(value = "SELECT * FROM form_data WHERE form_template_id = ?1 AND user_id = ?2 AND (created_at, id) < (?3, ?4) ORDER BY created_at DESC, id DESC LIMIT ?5", nativeQuery = true)
+    List<FormData> findPageByFormTemplateIdAndUserIdAfter(UUID templateId, UUID userId, LocalDateTime createdAt, UUID id, int limit);
 }
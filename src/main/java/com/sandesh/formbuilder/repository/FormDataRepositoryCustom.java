@@ -0,0 +1,12 @@
+package com.sandesh.formbuilder.repository;
+
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.util.PageCursor;
+import com.sandesh.formbuilder.validation.FormDataFilter;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface FormDataRepositoryCustom {
+    List<FormData> findPageByFilters(UUID templateId, List<FormDataFilter> filters, PageCursor after, int limit);
+}
@@ -0,0 +1,113 @@
+package com.sandesh.formbuilder.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.enums.FilterOperator;
+import com.sandesh.formbuilder.enums.FormFieldType;
+import com.sandesh.formbuilder.util.PageCursor;
+import com.sandesh.formbuilder.validation.FormDataFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class FormDataRepositoryCustomImpl implements FormDataRepositoryCustom {
+
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FormData> findPageByFilters(UUID templateId, List<FormDataFilter> filters, PageCursor after, int limit) {
+        FilterQuery filterQuery = buildFilterQuery(objectMapper, templateId, filters, after, limit);
+        Query query = entityManager.createNativeQuery(filterQuery.sql(), FormData.class);
+        for (int i = 0; i < filterQuery.parameters().size(); i++) {
+            query.setParameter(i + 1, filterQuery.parameters().get(i));
+        }
+        return query.getResultList();
+    }
+
+    // Equality filters are merged into one jsonb containment test, which the GIN index on
+    // json_data answers; the rest are typed comparisons on the template's rows
+    static FilterQuery buildFilterQuery(ObjectMapper objectMapper, UUID templateId, List<FormDataFilter> filters, PageCursor after, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT * FROM form_data WHERE form_template_id = ?1");
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(templateId);
+
+        if (after != null) {
+            sql.append(" AND (created_at, id) < (?2, ?3)");
+            parameters.add(after.createdAt());
+            parameters.add(after.id());
+        }
+
+        List<Map<String, Object>> contained = new ArrayList<>();
+        for (FormDataFilter filter : filters) {
+            if (isContainment(filter)) {
+                contained.add(item(filter));
+            }
+        }
+        if (!contained.isEmpty()) {
+            parameters.add(toJson(objectMapper, contained));
+            sql.append(" AND json_data @> CAST(?").append(parameters.size()).append(" AS jsonb)");
+        }
+
+        for (FormDataFilter filter : filters) {
+            if (isContainment(filter)) {
+                continue;
+            }
+            // Stored items line up with the schema, so the field is read by position and cast to its
+            // SQL type; the same expression can back a per-field index if one template needs it
+            String sqlType = switch (filter.field().getFieldType()) {
+                case NUMBER -> "numeric";
+                case DATE -> "date";
+                case TIME -> "time";
+                default -> "timestamp";
+            };
+            parameters.add(String.valueOf(filter.value()));
+            sql.append(" AND CAST(json_data -> ").append(filter.field().getIndex()).append(" ->> 'value' AS ").append(sqlType).append(") ")
+                    .append(filter.operator().getSqlOperator())
+                    .append(" CAST(?").append(parameters.size()).append(" AS ").append(sqlType).append(")");
+        }
+
+        parameters.add(limit);
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?").append(parameters.size());
+        return new FilterQuery(sql.toString(), parameters);
+    }
+
+    // Dates and times have several valid spellings (10:00 and 10:00:00), so even equality on them is a typed comparison
+    private static boolean isContainment(FormDataFilter filter) {
+        FormFieldType fieldType = filter.field().getFieldType();
+        return filter.operator() == FilterOperator.EQ
+                && fieldType != FormFieldType.DATE && fieldType != FormFieldType.TIME && fieldType != FormFieldType.DATETIME;
+    }
+
+    private static Map<String, Object> item(FormDataFilter filter) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("key", filter.field().getKey());
+        item.put("value", filter.value());
+        return item;
+    }
+
+    private static String toJson(ObjectMapper objectMapper, Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid filter value: " + e.getMessage());
+        }
+    }
+
+    record FilterQuery(String sql, List<Object> parameters) {
+    }
+}
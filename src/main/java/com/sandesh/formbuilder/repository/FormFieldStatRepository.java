@@ -0,0 +1,91 @@
+package com.sandesh.formbuilder.repository;
+
+import com.sandesh.formbuilder.entity.FormFieldStat;
+import com.sandesh.formbuilder.entity.FormFieldStatId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface FormFieldStatRepository extends JpaRepository<FormFieldStat, FormFieldStatId> {
+
+    // Rolled-up counts plus the deltas not folded in yet, so reads are exact whenever the rollup last ran
+    @Query(value = "SELECT form_template_id, field_key, bucket, CAST(SUM(value_count) AS bigint) AS value_count, " +
+            "SUM(number_sum) AS number_sum, MIN(number_min) AS number_min, MAX(number_max) AS number_max FROM (" +
+            "SELECT form_template_id, field_key, bucket, value_count, number_sum, number_min, number_max FROM form_field_stats WHERE form_template_id = ?1 " +
+            "UNION ALL SELECT form_template_id, field_key, bucket, value_count, number_sum, number_min, number_max FROM form_field_stat_deltas WHERE form_template_id = ?1) s " +
+            "GROUP BY form_template_id, field_key, bucket HAVING SUM(value_count) > 0", nativeQuery = true)
+    List<FormFieldStat> findTotalsByFormTemplateId(UUID templateId);
+
+    // Appends one delta row per array element in a single statement. Only inserts: concurrent
+    // submissions to a template never wait on each other here.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "form_field_stat_deltas"))
+    @Query(value = "INSERT INTO form_field_stat_deltas (form_template_id, field_key, bucket, value_count, number_sum, number_min, number_max, number_removed) " +
+            "SELECT ?1, * FROM unnest(CAST(?2 AS text[]), CAST(?3 AS text[]), CAST(?4 AS bigint[]), CAST(?5 AS numeric[]), CAST(?6 AS numeric[]), CAST(?7 AS numeric[]), CAST(?8 AS boolean[]))", nativeQuery = true)
+    void addDeltas(UUID templateId, String[] fieldKeys, String[] buckets, Long[] counts, BigDecimal[] sums, BigDecimal[] mins, BigDecimal[] maxes, Boolean[] removed);
+
+    // Templates with deltas waiting, found with one index probe each on idx_form_field_stat_deltas_template
+    @Query(value = "WITH RECURSIVE t AS (" +
+            "(SELECT form_template_id FROM form_field_stat_deltas ORDER BY form_template_id LIMIT 1) " +
+            "UNION ALL SELECT n.form_template_id FROM t CROSS JOIN LATERAL (SELECT d.form_template_id FROM form_field_stat_deltas d " +
+            "WHERE d.form_template_id > t.form_template_id ORDER BY d.form_template_id LIMIT 1) n) " +
+            "SELECT form_template_id FROM t", nativeQuery = true)
+    List<UUID> findTemplatesWithDeltas();
+
+    // Moves up to `limit` of a template's oldest deltas into form_field_stats and returns how many it
+    // moved. SKIP LOCKED lets instances roll up side by side, and stat rows are upserted in key order
+    // so two rollups never deadlock. A bucket a number was removed from is marked stale, since its
+    // min or max may have been that number.
+    @Query(value = "WITH moved AS (DELETE FROM form_field_stat_deltas WHERE id IN (" +
+            "SELECT id FROM form_field_stat_deltas WHERE form_template_id = ?1 ORDER BY id LIMIT ?2 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING form_template_id, field_key, bucket, value_count, number_sum, number_min, number_max, number_removed), " +
+            "folded AS (INSERT INTO form_field_stats (form_template_id, field_key, bucket, value_count, number_sum, number_min, number_max, number_stale) " +
+            "SELECT form_template_id, field_key, bucket, SUM(value_count), SUM(number_sum), MIN(number_min), MAX(number_max), BOOL_OR(number_removed) FROM moved " +
+            "GROUP BY form_template_id, field_key, bucket ORDER BY field_key, bucket " +
+            "ON CONFLICT (form_template_id, field_key, bucket) DO UPDATE SET value_count = form_field_stats.value_count + EXCLUDED.value_count, " +
+            "number_sum = form_field_stats.number_sum + EXCLUDED.number_sum, " +
+            "number_min = LEAST(form_field_stats.number_min, EXCLUDED.number_min), " +
+            "number_max = GREATEST(form_field_stats.number_max, EXCLUDED.number_max), " +
+            "number_stale = form_field_stats.number_stale OR EXCLUDED.number_stale) " +
+            "SELECT COUNT(*) FROM moved", nativeQuery = true)
+    long rollUpDeltas(UUID templateId, int limit);
+
+    @Query(value = "SELECT * FROM form_field_stats WHERE form_template_id = ?1 AND number_stale", nativeQuery = true)
+    List<FormFieldStat> findStaleNumberBuckets(UUID templateId);
+
+    // Sets a number bucket's min and max from the submissions whose value lies in [low, high), or
+    // equals low, which is how the zero bucket is asked for. Keeps them if no submission matches.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "form_field_stats"))
+    @Query(value = "UPDATE form_field_stats SET (number_min, number_max) = (" +
+            "SELECT COALESCE(MIN(v), number_min), COALESCE(MAX(v), number_max) FROM (SELECT CASE WHEN jsonb_typeof(e -> 'value') = 'number' THEN CAST(e ->> 'value' AS numeric) END AS v " +
+            "FROM form_data f CROSS JOIN LATERAL jsonb_array_elements(f.json_data) e " +
+            "WHERE f.form_template_id = ?1 AND e ->> 'key' = ?2) n WHERE v >= ?4 AND (v < ?5 OR v = ?4)), number_stale = false " +
+            "WHERE form_template_id = ?1 AND field_key = ?2 AND bucket = ?3", nativeQuery = true)
+    void recomputeNumberRange(UUID templateId, String fieldKey, String bucket, BigDecimal low, BigDecimal high);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "form_field_stats"))
+    @Query(value = "DELETE FROM form_field_stats WHERE form_template_id = ?1", nativeQuery = true)
+    void deleteByFormTemplateId(UUID templateId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "form_field_stat_deltas"))
+    @Query(value = "DELETE FROM form_field_stat_deltas WHERE form_template_id = ?1", nativeQuery = true)
+    void deleteDeltasByFormTemplateId(UUID templateId);
+
+    // Transaction-scoped: submissions and rollups share the lock, a rebuild takes it exclusively so
+    // it never interleaves with deltas for the same template
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock_shared(hashtextextended(CAST(?1 AS text), 0))) l", nativeQuery = true)
+    Integer lockTemplateShared(UUID templateId);
+
+    @Query(value = "SELECT 1 FROM (SELECT pg_advisory_xact_lock(hashtextextended(CAST(?1 AS text), 0))) l", nativeQuery = true)
+    Integer lockTemplateExclusive(UUID templateId);
+}
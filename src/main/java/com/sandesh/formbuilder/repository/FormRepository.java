@@ -4,13 +4,33 @@ import com.sandesh.formbuilder.entity.FormTemplate;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface FormRepository extends JpaRepository<FormTemplate, UUID> {
-    @Query(value = "SELECT * FROM form_template WHERE LOWER(name) LIKE LOWER(CONCAT('%', ?1, '%')) ORDER BY created_at DESC LIMIT ?3 OFFSET ?2", nativeQuery = true)
+    // Keyset over the primary key, for jobs that visit every template a page at a time
+    @Query(value = "SELECT id FROM form_template WHERE id > ?1 ORDER BY id LIMIT ?2", nativeQuery = true)
+    List<UUID> findIdsAfter(UUID id, int limit);
+
+    // || rather than CONCAT, which is only stable: the pattern is folded when the query is planned, so
+    // the planner can estimate how selective it is and use idx_form_template_name_trgm
+    @Query(value = "SELECT * FROM form_template WHERE LOWER(name) LIKE '%' || LOWER(CAST(?1 AS text)) || '%' ORDER BY created_at DESC LIMIT ?3 OFFSET ?2", nativeQuery = true)
     List<FormTemplate> findByNameWithOffsetAndLimit(String name, int offset, int limit);
 
     @Query(value = "SELECT * FROM form_template ORDER BY created_at DESC LIMIT ?2 OFFSET ?1", nativeQuery = true)
     List<FormTemplate> findAllWithOffsetAndLimit(int offset, int limit);
+
+    // Keyset pagination over (created_at, id); cost is independent of how deep the page is
+    @Query(value = "SELECT * FROM form_template ORDER BY created_at DESC, id DESC LIMIT ?1", nativeQuery = true)
+    List<FormTemplate> findFirstPage(int limit);
+
+    @Query(value = "SELECT * FROM form_template WHERE (created_at, id) < (?1, ?2) ORDER BY created_at DESC, id DESC LIMIT ?3", nativeQuery = true)
+    List<FormTemplate> findPageAfter(LocalDateTime createdAt, UUID id, int limit);
+
+    @Query(value = "SELECT * FROM form_template WHERE LOWER(name) LIKE '%' || LOWER(CAST(?1 AS text)) || '%' ORDER BY created_at DESC, id DESC LIMIT ?2", nativeQuery = true)
+    List<FormTemplate> findFirstPageByName(String name, int limit);
+
+    @Query(value = "SELECT * FROM form_template WHERE LOWER(name) LIKE '%' || LOWER(CAST(?1 AS text)) || '%' AND (created_at, id) < (?2, ?3) ORDER BY created_at DESC, id DESC LIMIT ?4", nativeQuery = true)
+    List<FormTemplate> findPageByNameAfter(String name, LocalDateTime createdAt, UUID id, int limit);
 }
@@ -1,11 +1,15 @@
 package com.sandesh.formbuilder.repository;
 
 import com.sandesh.formbuilder.entity.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
 public interface RoleRepository extends JpaRepository<Role,Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByName(String name);
 
 }
@@ -1,7 +1,13 @@
 package com.sandesh.formbuilder.repository;
 
 import com.sandesh.formbuilder.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,6 +16,14 @@ import java.util.UUID;
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    // Roles are fetched in the same query; a login loads the user exactly once. Cached until the users
+    // table changes, after which the user and roles come from the second-level cache.
+    @EntityGraph(attributePaths = "roles")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    @Modifying
+    @Query("UPDATE User u SET u.password = ?2 WHERE u.id = ?1")
+    void updatePassword(UUID id, String password);
+
 }
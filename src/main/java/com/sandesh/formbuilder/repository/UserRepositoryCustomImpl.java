@@ -2,6 +2,7 @@ package com.sandesh.formbuilder.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -26,6 +27,8 @@ public class UserRepositoryCustomImpl implements UserRepositoryCustom {
                 .setParameter("password", password)
                 .setParameter("userId", userId)
                 .setParameter("roleName", roleName)
+                // Only these tables change; without it Hibernate would clear every second-level cache region
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, new String[]{"users", "users_roles"})
                 .executeUpdate();
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.sandesh.formbuilder.service.analytics;
+
+import com.sandesh.formbuilder.dto.FormAnalyticsResponse;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface FormAnalyticsService {
+    // Applies the difference between two versions of a submission; either side may be null
+    void recordChange(CompiledFormSchema schema, List<Map<String, Object>> before, List<Map<String, Object>> after);
+    // Counts several new submissions of one template with a single delta row per bucket
+    void recordSubmissions(CompiledFormSchema schema, List<List<Map<String, Object>>> submissions);
+    FormAnalyticsResponse getAnalytics(UUID templateId);
+    void rebuild(UUID templateId);
+    int rebuildAll();
+}
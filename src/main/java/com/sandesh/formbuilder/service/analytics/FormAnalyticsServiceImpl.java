@@ -0,0 +1,420 @@
+package com.sandesh.formbuilder.service.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.dto.FieldAnalyticsResponse;
+import com.sandesh.formbuilder.dto.FormAnalyticsResponse;
+import com.sandesh.formbuilder.dto.HistogramBucket;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormFieldStat;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.enums.FormFieldType;
+import com.sandesh.formbuilder.repository.FormDataRepository;
+import com.sandesh.formbuilder.repository.FormFieldStatRepository;
+import com.sandesh.formbuilder.repository.FormRepository;
+import com.sandesh.formbuilder.service.form.FormSchemaCache;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FieldValidator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+// Field statistics are kept as counts per answer bucket: dropdown option, checkbox state, calendar
+// day, or for numbers a bucket of two significant digits holding the sum, min and max of its values.
+// A submission, edit or delete appends its +1/-1 deltas to form_field_stat_deltas in its own
+// transaction, which takes no lock another submission waits on; rollUpDeltas folds them into
+// form_field_stats off the request path. Reads add up both tables and never touch form_data. Counts
+// and means are exact. A bucket that loses a number keeps its old min and max until the rollup
+// recomputes them from that bucket's submissions.
+@Slf4j
+@Service
+public class FormAnalyticsServiceImpl implements FormAnalyticsService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final MathContext NUMBER_BUCKET = new MathContext(2, RoundingMode.FLOOR);
+
+    private final FormFieldStatRepository formFieldStatRepository;
+    private final FormRepository formRepository;
+    private final FormDataRepository formDataRepository;
+    private final FormSchemaCache formSchemaCache;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int histogramBuckets;
+    private final int rollupBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public FormAnalyticsServiceImpl(FormFieldStatRepository formFieldStatRepository,
+                                    FormRepository formRepository,
+                                    FormDataRepository formDataRepository,
+                                    FormSchemaCache formSchemaCache,
+                                    ObjectMapper objectMapper,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${form.analytics.histogram-buckets:10}") int histogramBuckets,
+                                    @Value("${form.analytics.rollup-batch-size:5000}") int rollupBatchSize) {
+        this.formFieldStatRepository = formFieldStatRepository;
+        this.formRepository = formRepository;
+        this.formDataRepository = formDataRepository;
+        this.formSchemaCache = formSchemaCache;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.histogramBuckets = histogramBuckets;
+        this.rollupBatchSize = rollupBatchSize;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(CompiledFormSchema schema, List<Map<String, Object>> before, List<Map<String, Object>> after) {
+        Map<StatBucket, StatDelta> deltas = new HashMap<>();
+        addBuckets(deltas, schema, before, -1);
+        addBuckets(deltas, schema, after, 1);
+        applyDeltas(schema.getTemplateId(), deltas);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubmissions(CompiledFormSchema schema, List<List<Map<String, Object>>> submissions) {
+        Map<StatBucket, StatDelta> deltas = new HashMap<>();
+        for (List<Map<String, Object>> jsonData : submissions) {
+            addBuckets(deltas, schema, jsonData, 1);
+        }
+        applyDeltas(schema.getTemplateId(), deltas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FormAnalyticsResponse getAnalytics(UUID templateId) {
+        FormTemplate formTemplate = getFormTemplate(templateId);
+        CompiledFormSchema schema = formSchemaCache.get(formTemplate);
+
+        Map<String, List<FormFieldStat>> statsByField = new HashMap<>();
+        for (FormFieldStat stat : formFieldStatRepository.findTotalsByFormTemplateId(templateId)) {
+            statsByField.computeIfAbsent(stat.getId().getFieldKey(), key -> new ArrayList<>()).add(stat);
+        }
+
+        List<FieldAnalyticsResponse> fields = new ArrayList<>();
+        for (FieldValidator field : schema.getFields()) {
+            if (!isAggregated(field)) {
+                continue;
+            }
+            List<FormFieldStat> stats = statsByField.getOrDefault(field.getKey(), List.of());
+
+            FieldAnalyticsResponse fieldAnalytics = new FieldAnalyticsResponse();
+            fieldAnalytics.setKey(field.getKey());
+            fieldAnalytics.setLabel(field.getLabel());
+            fieldAnalytics.setType(field.getType());
+            fieldAnalytics.setCount(stats.stream().mapToLong(FormFieldStat::getValueCount).sum());
+
+            switch (field.getFieldType()) {
+                case DROPDOWN -> {
+                    Map<String, Long> counts = new LinkedHashMap<>();
+                    if (field.getOptions() != null) {
+                        field.getOptions().forEach(option -> counts.put(option, 0L));
+                    }
+                    stats.forEach(stat -> counts.merge(stat.getId().getBucket(), stat.getValueCount(), Long::sum));
+                    fieldAnalytics.setCounts(counts);
+                }
+                case CHECKBOX -> {
+                    Map<String, Long> counts = new LinkedHashMap<>();
+                    counts.put("true", 0L);
+                    counts.put("false", 0L);
+                    stats.forEach(stat -> counts.merge(stat.getId().getBucket(), stat.getValueCount(), Long::sum));
+                    fieldAnalytics.setCounts(counts);
+                }
+                case NUMBER -> setNumberStatistics(fieldAnalytics, stats);
+                default -> {
+                    // ISO dates sort chronologically as text
+                    Map<String, Long> days = new TreeMap<>();
+                    stats.forEach(stat -> days.put(stat.getId().getBucket(), stat.getValueCount()));
+                    fieldAnalytics.setDateHistogram(new LinkedHashMap<>(days));
+                }
+            }
+            fields.add(fieldAnalytics);
+        }
+
+        FormAnalyticsResponse response = new FormAnalyticsResponse();
+        response.setTemplateId(templateId);
+        response.setName(formTemplate.getName());
+        response.setFields(fields);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void rebuild(UUID templateId) {
+        doRebuild(getFormTemplate(templateId));
+    }
+
+    // Folds the deltas submissions appended into form_field_stats, in short transactions of at most
+    // rollupBatchSize deltas so a busy template never holds up a rebuild for long
+    @Scheduled(fixedDelayString = "${form.analytics.rollup-interval-ms:1000}")
+    public void rollUpDeltas() {
+        for (UUID templateId : formFieldStatRepository.findTemplatesWithDeltas()) {
+            try {
+                Long moved;
+                do {
+                    moved = transactionTemplate.execute(status -> {
+                        formFieldStatRepository.lockTemplateShared(templateId);
+                        long rolledUp = formFieldStatRepository.rollUpDeltas(templateId, rollupBatchSize);
+                        recomputeStaleNumberRanges(templateId);
+                        return rolledUp;
+                    });
+                } while (moved != null && moved >= rollupBatchSize);
+            } catch (DataAccessException e) {
+                // The deltas stay where they are and are still counted by reads; the next run retries
+                log.warn("Could not roll up analytics deltas for template {}", templateId, e);
+            }
+        }
+    }
+
+    private void recomputeStaleNumberRanges(UUID templateId) {
+        for (FormFieldStat stat : formFieldStatRepository.findStaleNumberBuckets(templateId)) {
+            BigDecimal low = new BigDecimal(stat.getId().getBucket());
+            formFieldStatRepository.recomputeNumberRange(templateId, stat.getId().getFieldKey(), stat.getId().getBucket(),
+                    low, nextBucket(low));
+        }
+    }
+
+    // The smallest value above every number in the bucket starting at low, which toBucket rounded down
+    // to two significant digits: 1.2E+3 holds [1200, 1300), -1.3E+3 holds [-1300, -1200) and
+    // -1E+3 holds [-1000, -990)
+    static BigDecimal nextBucket(BigDecimal low) {
+        if (low.signum() == 0) {
+            return low;
+        }
+        int magnitude = low.precision() - low.scale() - 1;
+        boolean powerOfTen = low.stripTrailingZeros().unscaledValue().abs().equals(BigInteger.ONE);
+        int step = low.signum() < 0 && powerOfTen ? magnitude - 2 : magnitude - 1;
+        return low.add(BigDecimal.ONE.scaleByPowerOfTen(step));
+    }
+
+    // One transaction per template so a large backfill doesn't hold every template's lock at once
+    @Override
+    public int rebuildAll() {
+        int rebuilt = 0;
+        // The smallest uuid; pages follow PostgreSQL's uuid order, not UUID.compareTo
+        UUID after = new UUID(0, 0);
+        List<UUID> templateIds;
+        do {
+            templateIds = formRepository.findIdsAfter(after, REBUILD_PAGE_SIZE);
+            for (UUID templateId : templateIds) {
+                transactionTemplate.executeWithoutResult(status ->
+                        formRepository.findById(templateId).ifPresent(this::doRebuild));
+            }
+            rebuilt += templateIds.size();
+            if (!templateIds.isEmpty()) {
+                after = templateIds.getLast();
+            }
+        } while (templateIds.size() == REBUILD_PAGE_SIZE);
+        return rebuilt;
+    }
+
+    private void doRebuild(FormTemplate formTemplate) {
+        CompiledFormSchema schema = formSchemaCache.get(formTemplate);
+        UUID templateId = formTemplate.getId();
+
+        // Waits for in-flight submissions to commit and holds new ones until the rebuild commits
+        formFieldStatRepository.lockTemplateExclusive(templateId);
+        formFieldStatRepository.deleteByFormTemplateId(templateId);
+        formFieldStatRepository.deleteDeltasByFormTemplateId(templateId);
+
+        Map<StatBucket, StatDelta> counts = new HashMap<>();
+        try (Stream<FormData> formDataStream = formDataRepository.streamByFormTemplateId(templateId)) {
+            Iterator<FormData> iterator = formDataStream.iterator();
+            while (iterator.hasNext()) {
+                FormData formData = iterator.next();
+                addBuckets(counts, schema, readJsonData(formData.getJsonData()), 1);
+                entityManager.detach(formData);
+            }
+        }
+        // Written as deltas too; reads count them straight away and the next rollup folds them in
+        addDeltas(templateId, counts);
+    }
+
+    private void applyDeltas(UUID templateId, Map<StatBucket, StatDelta> deltas) {
+        deltas.values().removeIf(StatDelta::isEmpty);
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        formFieldStatRepository.lockTemplateShared(templateId);
+        addDeltas(templateId, deltas);
+    }
+
+    private void addDeltas(UUID templateId, Map<StatBucket, StatDelta> deltas) {
+        int size = deltas.size();
+        String[] fieldKeys = new String[size];
+        String[] buckets = new String[size];
+        Long[] counts = new Long[size];
+        BigDecimal[] sums = new BigDecimal[size];
+        BigDecimal[] mins = new BigDecimal[size];
+        BigDecimal[] maxes = new BigDecimal[size];
+        Boolean[] removed = new Boolean[size];
+        int i = 0;
+        for (Map.Entry<StatBucket, StatDelta> entry : deltas.entrySet()) {
+            fieldKeys[i] = entry.getKey().fieldKey();
+            buckets[i] = entry.getKey().bucket();
+            counts[i] = entry.getValue().count;
+            sums[i] = entry.getValue().sum;
+            mins[i] = entry.getValue().min;
+            maxes[i] = entry.getValue().max;
+            removed[i] = entry.getValue().removed;
+            i++;
+        }
+        formFieldStatRepository.addDeltas(templateId, fieldKeys, buckets, counts, sums, mins, maxes, removed);
+    }
+
+    private List<Map<String, Object>> readJsonData(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Error parsing stored form data: " + e.getMessage());
+        }
+    }
+
+    private FormTemplate getFormTemplate(UUID templateId) {
+        return formRepository.findById(templateId)
+                .orElseThrow(() -> new IllegalArgumentException("Form Template with ID " + templateId + " not found"));
+    }
+
+    private void setNumberStatistics(FieldAnalyticsResponse fieldAnalytics, List<FormFieldStat> stats) {
+        if (stats.isEmpty()) {
+            fieldAnalytics.setHistogram(List.of());
+            return;
+        }
+        BigDecimal min = null;
+        BigDecimal max = null;
+        BigDecimal sum = BigDecimal.ZERO;
+        for (FormFieldStat stat : stats) {
+            min = min == null || stat.getNumberMin().compareTo(min) < 0 ? stat.getNumberMin() : min;
+            max = max == null || stat.getNumberMax().compareTo(max) > 0 ? stat.getNumberMax() : max;
+            sum = sum.add(stat.getNumberSum());
+        }
+        fieldAnalytics.setMin(min);
+        fieldAnalytics.setMax(max);
+        fieldAnalytics.setMean(sum.divide(BigDecimal.valueOf(fieldAnalytics.getCount()), MathContext.DECIMAL64));
+
+        // Equal-width buckets spanning the observed range; each stored bucket is placed by its mean
+        int bucketCount = min.compareTo(max) == 0 ? 1 : histogramBuckets;
+        BigDecimal width = max.subtract(min).divide(BigDecimal.valueOf(bucketCount), MathContext.DECIMAL64);
+        long[] bucketCounts = new long[bucketCount];
+        for (FormFieldStat stat : stats) {
+            BigDecimal mean = stat.getNumberSum().divide(BigDecimal.valueOf(stat.getValueCount()), MathContext.DECIMAL64);
+            int index = width.signum() == 0 ? 0
+                    : mean.subtract(min).divide(width, 0, RoundingMode.FLOOR).intValue();
+            bucketCounts[Math.max(0, Math.min(index, bucketCount - 1))] += stat.getValueCount();
+        }
+        List<HistogramBucket> histogram = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            BigDecimal from = min.add(width.multiply(BigDecimal.valueOf(i)));
+            BigDecimal to = i == bucketCount - 1 ? max : from.add(width);
+            histogram.add(new HistogramBucket(from, to, bucketCounts[i]));
+        }
+        fieldAnalytics.setHistogram(histogram);
+    }
+
+    private static void addBuckets(Map<StatBucket, StatDelta> deltas, CompiledFormSchema schema, List<Map<String, Object>> jsonData, long sign) {
+        if (jsonData == null) {
+            return;
+        }
+        for (Map<String, Object> item : jsonData) {
+            FieldValidator field = schema.getField(String.valueOf(item.get("key")));
+            if (field == null || !isAggregated(field)) {
+                continue;
+            }
+            Object value = item.get("value");
+            StatBucket bucket = toBucket(field, value);
+            if (bucket != null) {
+                StatDelta delta = deltas.computeIfAbsent(bucket, key -> new StatDelta());
+                delta.add(field.getFieldType() == FormFieldType.NUMBER ? new BigDecimal(value.toString()) : null, sign);
+            }
+        }
+    }
+
+    private static boolean isAggregated(FieldValidator field) {
+        return switch (field.getFieldType()) {
+            case DROPDOWN, CHECKBOX, NUMBER, DATE, DATETIME -> true;
+            default -> false;
+        };
+    }
+
+    // Null and unparseable values aren't counted
+    private static StatBucket toBucket(FieldValidator field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return switch (field.getFieldType()) {
+                // 1234 and 1299 share the bucket "1.2E+3", so a field has a bounded number of rows
+                case NUMBER -> new StatBucket(field.getKey(), new BigDecimal(value.toString()).round(NUMBER_BUCKET).stripTrailingZeros().toString());
+                case DATE -> new StatBucket(field.getKey(), LocalDate.parse(value.toString()).toString());
+                case DATETIME -> new StatBucket(field.getKey(), LocalDateTime.parse(value.toString()).toLocalDate().toString());
+                default -> new StatBucket(field.getKey(), value.toString());
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private record StatBucket(String fieldKey, String bucket) {
+    }
+
+    // What one transaction adds to a bucket. Removed values lower the count and sum and flag the
+    // bucket, whose min and max the rollup then recomputes; added values widen min and max.
+    private static final class StatDelta {
+        private long count;
+        private BigDecimal sum;
+        private BigDecimal min;
+        private BigDecimal max;
+        private boolean removed;
+
+        void add(BigDecimal number, long sign) {
+            count += sign;
+            if (number == null) {
+                return;
+            }
+            sum = (sum == null ? BigDecimal.ZERO : sum).add(sign < 0 ? number.negate() : number);
+            if (sign > 0) {
+                min = min == null || number.compareTo(min) < 0 ? number : min;
+                max = max == null || number.compareTo(max) > 0 ? number : max;
+            } else {
+                removed = true;
+            }
+        }
+
+        // An edit that kept the value cancels out
+        boolean isEmpty() {
+            return count == 0 && (sum == null || sum.signum() == 0);
+        }
+    }
+}
@@ -4,10 +4,7 @@ import com.sandesh.formbuilder.dto.LoginRequest;
 import com.sandesh.formbuilder.dto.LoginResponse;
 import com.sandesh.formbuilder.dto.RegisterRequest;
 import com.sandesh.formbuilder.dto.RegisterResponse;
-import com.sandesh.formbuilder.entity.User;
-import com.sandesh.formbuilder.entity.Role;
 import com.sandesh.formbuilder.exception.UserAlreadyExistsException;
-import com.sandesh.formbuilder.repository.RoleRepository;
 import com.sandesh.formbuilder.repository.UserRepository;
 import com.sandesh.formbuilder.repository.UserRepositoryCustom;
 import com.sandesh.formbuilder.util.JwtUtil;
@@ -17,13 +14,10 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Objects;
 
 @Service
@@ -31,18 +25,15 @@ import java.util.Objects;
 public class AuthServiceImpl implements AuthService{
 
     private final AuthenticationManager authenticationManager;
-    private final CustomUserDetailsService userDetailsService;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
     private final UserRepositoryCustom userRepositoryCustom;
-    private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
 
 
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
 
-        initializeRoles();
         if(Objects.equals(loginRequest.getEmail(), "") || loginRequest.getEmail()==null){
             throw new IllegalArgumentException("Email is required");
         }
@@ -53,6 +44,9 @@ public class AuthServiceImpl implements AuthService{
         }
 
 
+        // The provider loads the user (with roles) once, checks the password on the hashing pool and
+        // returns that user as the principal, so nothing needs to be read again to build the token
+        AuthenticatedUser user;
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -62,25 +56,20 @@ public class AuthServiceImpl implements AuthService{
             );
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            user = (AuthenticatedUser) authentication.getPrincipal();
 
         } catch (BadCredentialsException e) {
             throw new BadCredentialsException("Incorrect username or password");
         }
 
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getEmail());
-        final String jwt = jwtUtil.generateToken(userDetails);
-
-        User user = userRepository.findByEmail(loginRequest.getEmail()).orElseThrow(()->new UsernameNotFoundException("User not found with email"+loginRequest.getEmail()));
+        final String jwt = jwtUtil.generateToken(user);
 
         LoginResponse loginResponse = new LoginResponse();
 
         loginResponse.setEmail(user.getEmail());
         loginResponse.setToken(jwt);
-
-        List<String> roles = new ArrayList<>();
-        user.getRoles().forEach((role -> roles.add(role.getName())));
-        loginResponse.setRoles(roles);
+        loginResponse.setRoles(new ArrayList<>(user.getRoles()));
 
         return loginResponse;
     }
@@ -88,8 +77,6 @@ public class AuthServiceImpl implements AuthService{
     @Override
     public RegisterResponse registerUser(RegisterRequest registerRequest) {
 
-        initializeRoles();
-
         if(registerRequest.getEmail()==null || registerRequest.getEmail().isEmpty()){
             throw new IllegalArgumentException("Invalid email: " + registerRequest.getEmail());
         }
@@ -122,14 +109,5 @@ public class AuthServiceImpl implements AuthService{
         return registerResponse;
     }
 
-    public void initializeRoles() {
-        if (roleRepository.findByName("USER").isEmpty()) {
-            roleRepository.save(new Role(null, "USER"));
-        }
-        if (roleRepository.findByName("ADMIN").isEmpty()) {
-            roleRepository.save(new Role(null, "ADMIN"));
-        }
-    }
-
 
 }
@@ -0,0 +1,65 @@
+package com.sandesh.formbuilder.service.auth;
+
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Principal of every authenticated request. On API calls it is built from the verified JWT
+// claims alone, so the service layer gets the caller's id and roles without a database lookup.
+// The password is only present while a login is being checked.
+public class AuthenticatedUser implements UserDetails, CredentialsContainer {
+
+    private final UUID id;
+    private final String email;
+    private final List<String> roles;
+    private final List<GrantedAuthority> authorities;
+    private String password;
+
+    public AuthenticatedUser(UUID id, String email, String password, List<String> roles) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.roles = List.copyOf(roles);
+        this.authorities = roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    // Role names without the ROLE_ prefix, as stored in the role table
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+}
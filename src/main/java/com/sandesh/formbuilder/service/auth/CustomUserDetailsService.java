@@ -5,26 +5,37 @@ import com.sandesh.formbuilder.entity.User;
 import com.sandesh.formbuilder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
 
 
+    // Only used to check a login; API requests authenticate from the JWT claims
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
-        return org.springframework.security.core.userdetails.User
-                .withUsername(user.getEmail())
-                .password(user.getPassword())
-                .roles(user.getRoles().stream().map(Role::getName).toArray(String[]::new))
-                .build();
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(),
+                user.getRoles().stream().map(Role::getName).toList());
+    }
+
+    // Called by the authentication provider after a successful login when the stored hash is weaker
+    // than the configured BCrypt strength
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        AuthenticatedUser authenticatedUser = (AuthenticatedUser) user;
+        userRepository.updatePassword(authenticatedUser.getId(), newPassword);
+        return new AuthenticatedUser(authenticatedUser.getId(), authenticatedUser.getEmail(), newPassword,
+                authenticatedUser.getRoles());
     }
 
 
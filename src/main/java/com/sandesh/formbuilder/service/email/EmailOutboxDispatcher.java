@@ -0,0 +1,214 @@
+package com.sandesh.formbuilder.service.email;
+
+import com.sandesh.formbuilder.entity.EmailOutbox;
+import com.sandesh.formbuilder.enums.EmailOutboxStatus;
+import com.sandesh.formbuilder.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drains the email outbox in the background. Each batch goes out over a single SMTP
+// connection; failed messages are retried with exponential backoff until maxAttempts. A batch is
+// handled in three steps so no transaction, row lock or pooled connection is held while SMTP is
+// talked to: claim the rows (SENDING until a lease expires), send them, then record the results.
+@Slf4j
+@Component
+public class EmailOutboxDispatcher {
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Map<EmailOutboxStatus, AtomicLong> depth = new EnumMap<>(EmailOutboxStatus.class);
+
+    public EmailOutboxDispatcher(EmailOutboxRepository emailOutboxRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${form.email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${form.email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${form.email.outbox.initial-backoff:30s}") Duration initialBackoff,
+                                 @Value("${form.email.outbox.max-backoff:1h}") Duration maxBackoff,
+                                 @Value("${form.email.outbox.lease:5m}") Duration lease) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+
+        // Scrapes read the last counts refreshDepth took instead of querying the outbox themselves
+        for (EmailOutboxStatus status : EmailOutboxStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            depth.put(status, count);
+            Gauge.builder("form.email.outbox.depth", count, AtomicLong::get)
+                    .description("Emails in the outbox by status: waiting, being sent, or out of retries")
+                    .tag("status", status.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${form.email.outbox.poll-interval-ms:1000}")
+    public void dispatchPending() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched >= batchSize);
+    }
+
+    @Scheduled(fixedDelayString = "${form.email.outbox.depth-refresh-interval-ms:15000}")
+    public void refreshDepth() {
+        depth.forEach((status, count) -> count.set(emailOutboxRepository.countByStatus(status)));
+    }
+
+    // Returns how many outbox rows were claimed, sent or not
+    int dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> claimed = new ArrayList<>();
+        Integer locked = transactionTemplate.execute(status -> claimBatch(now, claimed));
+        if (!claimed.isEmpty()) {
+            Exception[] failures = send(claimed);
+            transactionTemplate.executeWithoutResult(status -> recordResults(claimed, failures, LocalDateTime.now()));
+        }
+        return locked != null ? locked : 0;
+    }
+
+    private int claimBatch(LocalDateTime now, List<EmailOutbox> claimed) {
+        List<EmailOutbox> batch = emailOutboxRepository.lockNextBatch(now, batchSize);
+        // Truncated to what the column stores, since recordResults compares it with the stored value
+        LocalDateTime leaseExpiry = now.plus(lease).truncatedTo(ChronoUnit.MICROS);
+        for (EmailOutbox email : batch) {
+            // Its lease ran out on the last attempt allowed, so that attempt counts as failed
+            if (email.getStatus() == EmailOutboxStatus.SENDING && email.getAttempts() >= maxAttempts) {
+                email.setStatus(EmailOutboxStatus.FAILED);
+                email.setLastError("Not sent before its lease expired");
+                log.warn("Giving up on email {} to {} after {} attempts: lease expired", email.getId(), email.getRecipient(), email.getAttempts());
+                continue;
+            }
+            // Counted when claimed, so an email whose sending never finishes still runs out of attempts
+            email.setAttempts(email.getAttempts() + 1);
+            email.setStatus(EmailOutboxStatus.SENDING);
+            email.setNextAttemptAt(leaseExpiry);
+            claimed.add(email);
+        }
+        return batch.size();
+    }
+
+    // Sent in the order the rows were claimed, i.e. oldest first. Returns the failure for each
+    // position, or null where the message was accepted.
+    private Exception[] send(List<EmailOutbox> batch) {
+        Exception[] failures = new Exception[batch.size()];
+        MimeMessage[] messages = new MimeMessage[batch.size()];
+        List<MimeMessage> sendable = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            EmailOutbox email = batch.get(i);
+            try {
+                MimeMailMessage message = new MimeMailMessage(mailSender.createMimeMessage());
+                message.setTo(email.getRecipient());
+                message.setSubject(email.getSubject());
+                message.setText(email.getBody());
+                messages[i] = message.getMimeMessage();
+                sendable.add(messages[i]);
+            } catch (MailException e) {
+                failures[i] = e;
+            }
+        }
+        if (sendable.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(sendable.toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            // MimeMessage equality is identity, so two identical emails are still told apart
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (int i = 0; i < messages.length; i++) {
+                if (messages[i] != null) {
+                    failures[i] = failedMessages.isEmpty() ? e : failedMessages.get(messages[i]);
+                }
+            }
+        } catch (MailException e) {
+            for (int i = 0; i < messages.length; i++) {
+                if (messages[i] != null) {
+                    failures[i] = e;
+                }
+            }
+        }
+        return failures;
+    }
+
+    private void recordResults(List<EmailOutbox> claimed, Exception[] failures, LocalDateTime now) {
+        Map<UUID, EmailOutbox> current = new HashMap<>();
+        for (EmailOutbox email : emailOutboxRepository.findAllById(claimed.stream().map(EmailOutbox::getId).toList())) {
+            current.put(email.getId(), email);
+        }
+
+        List<EmailOutbox> sent = new ArrayList<>();
+        for (int i = 0; i < claimed.size(); i++) {
+            EmailOutbox email = current.get(claimed.get(i).getId());
+            // The lease expired and another instance claimed the row again; its result counts, not this one
+            if (email == null || email.getStatus() != EmailOutboxStatus.SENDING
+                    || !email.getNextAttemptAt().equals(claimed.get(i).getNextAttemptAt())) {
+                continue;
+            }
+            if (failures[i] == null) {
+                sent.add(email);
+            } else {
+                scheduleRetry(email, failures[i], now);
+            }
+        }
+        emailOutboxRepository.deleteAllInBatch(sent);
+    }
+
+    private void scheduleRetry(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts();
+        email.setLastError(truncate(failure.getMessage()));
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutboxStatus.FAILED);
+            log.warn("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts, failure.getMessage());
+            return;
+        }
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(now.plus(backoff(attempts)));
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
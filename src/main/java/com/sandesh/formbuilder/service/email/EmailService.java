@@ -0,0 +1,8 @@
+package com.sandesh.formbuilder.service.email;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EmailService {
+    void queueFormResponseEmail(String to, List<Map<String, Object>> formData, String formName);
+}
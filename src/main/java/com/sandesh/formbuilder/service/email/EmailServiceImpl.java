@@ -0,0 +1,64 @@
+package com.sandesh.formbuilder.service.email;
+
+import com.sandesh.formbuilder.entity.EmailOutbox;
+import com.sandesh.formbuilder.enums.EmailOutboxStatus;
+import com.sandesh.formbuilder.repository.EmailOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class EmailServiceImpl implements EmailService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final EmailOutboxRepository emailOutboxRepository;
+
+    // Joins the caller's transaction so the email is only queued if the submission commits
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void queueFormResponseEmail(String to, List<Map<String, Object>> formData, String formName) {
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to);
+        email.setSubject("Form Response Submission - " + formName);
+        email.setBody(buildEmailBody(formData, formName));
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now());
+        emailOutboxRepository.save(email);
+    }
+
+    static String buildEmailBody(List<Map<String, Object>> formData, String formName) {
+        StringBuilder body = new StringBuilder();
+        body.append("Thank you for submitting the form: ").append(formName).append("\n\n");
+        body.append("Your responses:\n");
+        for (Map<String, Object> field : formData) {
+            String label = (String) field.get("label");
+            Object value = field.get("value");
+
+            if ("date".equals(field.get("type"))) {
+                if (value instanceof String) {
+                    LocalDate date = LocalDate.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE);
+                    value = date.format(DATE_FORMATTER);
+                }
+            } else if ("datetime".equals(field.get("type"))) {
+                if (value instanceof String) {
+                    LocalDateTime datetime = LocalDateTime.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                    value = datetime.format(DATETIME_FORMATTER);
+                }
+            }
+
+            body.append(label).append(": ").append(value != null ? value.toString() : "N/A").append("\n");
+        }
+        body.append("\nSubmitted on: ").append(LocalDateTime.now().format(DATETIME_FORMATTER));
+        return body.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FieldValidator;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+// Writes submissions into rows of one workbook as typed cells: numbers and booleans as such, and
+// date, time and datetime fields as Excel dates with a display format, so they sort and sum in
+// Excel. Anything else, temporal values that don't parse and numbers a double can't hold exactly
+// are written as text.
+final class ExcelRowWriter {
+
+    private static final double NANOS_PER_DAY = 86_400_000_000_000d;
+
+    private final ExportRowDecoder decoder;
+    private final CellStyle defaultStyle;
+    private final CellStyle dateStyle;
+    private final CellStyle timeStyle;
+    private final CellStyle dateTimeStyle;
+    private final ExportRowDecoder.CellWriter cellWriter = this::writeCell;
+    private Row row;
+
+    ExcelRowWriter(Workbook workbook, CompiledFormSchema schema, JsonFactory jsonFactory) {
+        this.decoder = new ExportRowDecoder(schema, jsonFactory);
+        this.defaultStyle = workbook.getCellStyleAt(0);
+        this.dateStyle = style(workbook, "yyyy-mm-dd");
+        this.timeStyle = style(workbook, "hh:mm:ss");
+        this.dateTimeStyle = style(workbook, "yyyy-mm-dd hh:mm:ss");
+    }
+
+    // Schema fields in their columns, then Submitted At
+    void write(Row row, FormData formData) throws IOException {
+        this.row = row;
+        decoder.decode(formData.getJsonData(), cellWriter);
+        if (formData.getCreatedAt() != null) {
+            Cell createdAtCell = row.createCell(decoder.columns());
+            createdAtCell.setCellValue(formData.getCreatedAt());
+            createdAtCell.setCellStyle(dateTimeStyle);
+        }
+    }
+
+    private void writeCell(int column, FieldValidator field, JsonParser parser) throws IOException {
+        Cell cell = row.createCell(column);
+        // Set explicitly: SXSSF otherwise looks up the column's style for every unstyled cell it flushes
+        cell.setCellStyle(defaultStyle);
+        switch (parser.currentToken()) {
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> writeNumber(cell, parser);
+            case VALUE_TRUE, VALUE_FALSE -> cell.setCellValue(parser.getBooleanValue());
+            case VALUE_STRING -> writeText(cell, field, parser.getText());
+            case VALUE_NULL -> {
+                // Left blank
+            }
+            default -> cell.setCellValue(parser.readValueAsTree().toString());
+        }
+    }
+
+    // Excel cells hold doubles, so a number a double can't represent exactly is kept as text rather than rounded
+    private static void writeNumber(Cell cell, JsonParser parser) throws IOException {
+        BigDecimal exact = parser.getDecimalValue();
+        double value = exact.doubleValue();
+        if (Double.isFinite(value) && BigDecimal.valueOf(value).compareTo(exact) == 0) {
+            cell.setCellValue(value);
+        } else {
+            cell.setCellValue(parser.getText());
+        }
+    }
+
+    private void writeText(Cell cell, FieldValidator field, String text) {
+        try {
+            switch (field.getFieldType()) {
+                case DATE -> {
+                    cell.setCellValue(LocalDate.parse(text));
+                    cell.setCellStyle(dateStyle);
+                    return;
+                }
+                case DATETIME -> {
+                    cell.setCellValue(LocalDateTime.parse(text));
+                    cell.setCellStyle(dateTimeStyle);
+                    return;
+                }
+                case TIME -> {
+                    // Excel stores a time of day as a fraction of a day
+                    cell.setCellValue(LocalTime.parse(text).toNanoOfDay() / NANOS_PER_DAY);
+                    cell.setCellStyle(timeStyle);
+                    return;
+                }
+                default -> {
+                }
+            }
+        } catch (DateTimeParseException e) {
+            // Stored before the field was validated; kept as it was submitted
+        }
+        cell.setCellValue(text);
+    }
+
+    private static CellStyle style(Workbook workbook, String format) {
+        CellStyle style = workbook.createCellStyle();
+        style.setDataFormat(workbook.createDataFormat().getFormat(format));
+        return style;
+    }
+}
@@ -0,0 +1,130 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.enums.ExportFormat;
+import com.sandesh.formbuilder.enums.ExportJobStatus;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// In-memory state of one export job. Written by its worker thread and read by status requests,
+// so the mutable fields are volatile; status is written last.
+class ExportJob {
+
+    private final UUID id;
+    private final UUID ownerId;
+    private final UUID templateId;
+    private final ExportFormat format;
+    private final String fileName;
+    private final Path file;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private volatile ExportJobStatus status = ExportJobStatus.QUEUED;
+    private volatile long size;
+    private volatile String error;
+    private volatile LocalDateTime completedAt;
+    private volatile LocalDateTime expiresAt;
+    private volatile LocalDateTime downloadedAt;
+
+    ExportJob(UUID id, UUID ownerId, UUID templateId, ExportFormat format, String fileName, Path file) {
+        this.id = id;
+        this.ownerId = ownerId;
+        this.templateId = templateId;
+        this.format = format;
+        this.fileName = fileName;
+        this.file = file;
+    }
+
+    void running() {
+        status = ExportJobStatus.RUNNING;
+    }
+
+    void completed(long size, LocalDateTime expiresAt) {
+        this.size = size;
+        finished(ExportJobStatus.COMPLETED, expiresAt);
+    }
+
+    void failed(String error, LocalDateTime expiresAt) {
+        this.error = error;
+        finished(ExportJobStatus.FAILED, expiresAt);
+    }
+
+    private void finished(ExportJobStatus status, LocalDateTime expiresAt) {
+        this.completedAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+        this.status = status;
+    }
+
+    boolean isInFlight() {
+        return status == ExportJobStatus.QUEUED || status == ExportJobStatus.RUNNING;
+    }
+
+    boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !expiresAt.isAfter(now);
+    }
+
+    void downloaded(LocalDateTime now) {
+        downloadedAt = now;
+    }
+
+    boolean isDownloadedSince(LocalDateTime since) {
+        LocalDateTime downloadedAt = this.downloadedAt;
+        return downloadedAt != null && downloadedAt.isAfter(since);
+    }
+
+    // Jobs are deduplicated per owner, template and format while they are in flight
+    Key getKey() {
+        return new Key(ownerId, templateId, format);
+    }
+
+    record Key(UUID ownerId, UUID templateId, ExportFormat format) {
+    }
+
+    UUID getId() {
+        return id;
+    }
+
+    UUID getOwnerId() {
+        return ownerId;
+    }
+
+    UUID getTemplateId() {
+        return templateId;
+    }
+
+    ExportFormat getFormat() {
+        return format;
+    }
+
+    String getFileName() {
+        return fileName;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    ExportJobStatus getStatus() {
+        return status;
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    String getError() {
+        return error;
+    }
+
+    LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
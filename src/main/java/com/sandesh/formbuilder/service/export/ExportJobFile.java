@@ -0,0 +1,8 @@
+package com.sandesh.formbuilder.service.export;
+
+import java.nio.file.Path;
+
+// A finished export as the download endpoint serves it. The file never changes once written, so
+// the job id doubles as a strong validator for If-Range.
+public record ExportJobFile(Path path, long size, String fileName, String contentType, String etag) {
+}
@@ -0,0 +1,12 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.dto.ExportJobResponse;
+import com.sandesh.formbuilder.enums.ExportFormat;
+
+import java.util.UUID;
+
+public interface ExportJobService {
+    ExportJobResponse createJob(UUID templateId, ExportFormat format);
+    ExportJobResponse getJob(UUID jobId);
+    ExportJobFile getJobFile(UUID jobId);
+}
@@ -0,0 +1,234 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.dto.ExportJobResponse;
+import com.sandesh.formbuilder.enums.ExportFormat;
+import com.sandesh.formbuilder.enums.ExportJobStatus;
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Runs exports in the background instead of inside the request. Jobs queue for a small worker pool,
+// so at most `threads` exports hold a database connection at once and a full queue is a 503. Each
+// result is written to the file store next to a .part file and moved into place when complete;
+// results and failed jobs are forgotten `ttl` after they finish, though a file that was handed to a
+// download within the last `download-window` is kept until the next cleanup after that. Jobs live in
+// memory, so files left over from a previous run are removed at startup.
+@Slf4j
+@Service
+public class ExportJobServiceImpl implements ExportJobService, DisposableBean {
+
+    // <job id>.<extension>, optionally with .part while the export is being written
+    private static final Pattern JOB_FILE = Pattern.compile("[0-9a-f]{8}(-[0-9a-f]{4}){3}-[0-9a-f]{12}\\.[a-z]+(\\.part)?");
+
+    private final ExportService exportService;
+    private final Path directory;
+    private final Duration ttl;
+    private final Duration downloadWindow;
+    private final ThreadPoolExecutor executor;
+    private final Counter rejected;
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+    // Queued and running jobs by what they export; an entry is removed when its job finishes
+    private final Map<ExportJob.Key, ExportJob> inFlight = new ConcurrentHashMap<>();
+
+    public ExportJobServiceImpl(ExportService exportService,
+                                MeterRegistry meterRegistry,
+                                @Value("${form.export.jobs.directory:${java.io.tmpdir}/formbuilder-exports}") Path directory,
+                                @Value("${form.export.jobs.threads:2}") int threads,
+                                @Value("${form.export.jobs.queue-capacity:16}") int queueCapacity,
+                                @Value("${form.export.jobs.ttl:1h}") Duration ttl,
+                                @Value("${form.export.jobs.download-window:10m}") Duration downloadWindow) throws IOException {
+        this.exportService = exportService;
+        this.directory = Files.createDirectories(directory);
+        this.ttl = ttl;
+        this.downloadWindow = downloadWindow;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("export-job-", 1).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        removeOrphanedFiles();
+
+        new ExecutorServiceMetrics(executor, "form.export.jobs", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("form.export.jobs.rejected")
+                .description("Export jobs turned away because the export queue was full")
+                .register(meterRegistry);
+        Gauge.builder("form.export.jobs.stored", jobs, Map::size)
+                .description("Export jobs queued, running or kept until their results expire")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ExportJobResponse createJob(UUID templateId, ExportFormat format) {
+        if (templateId == null) {
+            throw new IllegalArgumentException("Form Template ID is required");
+        }
+        AuthenticatedUser user = currentUser();
+        // Also checks that the template exists before anything is queued
+        String fileName = exportService.getExportFileName(templateId, format.getExtension());
+
+        // A client retrying its request gets the job that is already running. Looking it up and
+        // starting a new one is a single step, so concurrent retries can't both start a job.
+        ExportJob job = inFlight.computeIfAbsent(new ExportJob.Key(user.getId(), templateId, format),
+                key -> start(key, fileName));
+        return toResponse(job);
+    }
+
+    private ExportJob start(ExportJob.Key key, String fileName) {
+        UUID jobId = UUID.randomUUID();
+        ExportJob job = new ExportJob(jobId, key.ownerId(), key.templateId(), key.format(), fileName,
+                directory.resolve(jobId + "." + key.format().getExtension()));
+        jobs.put(jobId, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(jobId);
+            rejected.increment();
+            throw new ServerBusyException("Too many exports in progress, please retry shortly");
+        }
+        return job;
+    }
+
+    @Override
+    public ExportJobResponse getJob(UUID jobId) {
+        return toResponse(getOwnJob(jobId));
+    }
+
+    @Override
+    public ExportJobFile getJobFile(UUID jobId) {
+        ExportJob job = getOwnJob(jobId);
+        if (job.getStatus() != ExportJobStatus.COMPLETED) {
+            throw new IllegalArgumentException("Export job " + jobId + " has no file to download, its status is " + job.getStatus());
+        }
+        job.downloaded(LocalDateTime.now());
+        return new ExportJobFile(job.getFile(), job.getSize(), job.getFileName(), job.getFormat().getContentType(),
+                "\"" + job.getId() + "\"");
+    }
+
+    // Tomcat may still be sending a file after the download request has returned (sendfile), so there
+    // is no point at which its readers are known to be done; recently downloaded files wait instead
+    @Scheduled(fixedDelayString = "${form.export.jobs.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime downloadsSince = now.minus(downloadWindow);
+        jobs.values().removeIf(job -> {
+            if (!job.isExpired(now) || job.isDownloadedSince(downloadsSince)) {
+                return false;
+            }
+            deleteQuietly(job.getFile());
+            return true;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    void run(ExportJob job) {
+        job.running();
+        Path part = job.getFile().resolveSibling(job.getFile().getFileName() + ".part");
+        try {
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(part), 64 * 1024)) {
+                switch (job.getFormat()) {
+                    case XLSX -> exportService.exportFormDataToExcel(job.getTemplateId(), outputStream);
+                    case CSV -> exportService.exportFormDataToCsv(job.getTemplateId(), outputStream);
+                    case NDJSON -> exportService.exportFormDataToNdjson(job.getTemplateId(), outputStream);
+                    case ZIP -> exportService.exportFormDataToExcelParts(job.getTemplateId(), outputStream);
+                }
+            }
+            Files.move(part, job.getFile(), StandardCopyOption.ATOMIC_MOVE);
+            job.completed(Files.size(job.getFile()), LocalDateTime.now().plus(ttl));
+        } catch (Exception e) {
+            log.warn("Export job {} for template {} failed", job.getId(), job.getTemplateId(), e);
+            deleteQuietly(part);
+            job.failed(e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), LocalDateTime.now().plus(ttl));
+        } finally {
+            inFlight.remove(job.getKey(), job);
+        }
+    }
+
+    // Only the user who started a job (or an admin) may see it or download its file
+    private ExportJob getOwnJob(UUID jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new IllegalArgumentException("Export job with ID " + jobId + " not found");
+        }
+        AuthenticatedUser user = currentUser();
+        if (!job.getOwnerId().equals(user.getId()) && !user.getRoles().contains("ADMIN")) {
+            throw new AccessDeniedException("You don't have access to this export.");
+        }
+        return job;
+    }
+
+    private AuthenticatedUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            throw new IllegalStateException("User not authenticated");
+        }
+        return user;
+    }
+
+    private ExportJobResponse toResponse(ExportJob job) {
+        ExportJobResponse response = new ExportJobResponse();
+        response.setJobId(job.getId());
+        response.setTemplateId(job.getTemplateId());
+        response.setFormat(job.getFormat());
+        response.setStatus(job.getStatus());
+        response.setFileName(job.getFileName());
+        response.setCreatedAt(job.getCreatedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        response.setExpiresAt(job.getExpiresAt());
+        if (response.getStatus() == ExportJobStatus.COMPLETED) {
+            response.setSize(job.getSize());
+            response.setDownloadUrl("/api/exports/" + job.getId() + "/file");
+        }
+        response.setError(job.getError());
+        return response;
+    }
+
+    private void removeOrphanedFiles() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                file -> JOB_FILE.matcher(file.getFileName().toString()).matches())) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete export file {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FieldValidator;
+
+import java.io.IOException;
+
+// Walks a stored submission's jsonData with a streaming parser and hands each item's value to a
+// CellWriter at the column of its key in the template schema, so columns follow the schema rather
+// than the stored array order. Items whose key the template no longer has are skipped; fields the
+// submission lacks are left empty. Nothing is built per item: the writer reads the value straight
+// off the parser.
+final class ExportRowDecoder {
+
+    private final CompiledFormSchema schema;
+    private final JsonFactory jsonFactory;
+
+    ExportRowDecoder(CompiledFormSchema schema, JsonFactory jsonFactory) {
+        this.schema = schema;
+        this.jsonFactory = jsonFactory;
+    }
+
+    int columns() {
+        return schema.size();
+    }
+
+    void decode(String jsonData, CellWriter writer) throws IOException {
+        if (jsonData == null) {
+            return;
+        }
+        try (JsonParser parser = jsonFactory.createParser(jsonData)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    decodeItem(parser, writer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    // Stored items are canonical ({label, type, key, value, ...}), so the key comes before the value.
+    // Rows written before that may have the value first; it is buffered until the key is known.
+    private void decodeItem(JsonParser parser, CellWriter writer) throws IOException {
+        int column = -1;
+        boolean keySeen = false;
+        TokenBuffer pendingValue = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("key".equals(name) && !keySeen) {
+                keySeen = true;
+                column = token == JsonToken.VALUE_STRING ? schema.indexOf(parser.getText()) : -1;
+                if (column >= 0 && pendingValue != null) {
+                    try (JsonParser buffered = pendingValue.asParser(parser.getCodec())) {
+                        buffered.nextToken();
+                        writer.write(column, schema.getField(column), buffered);
+                    }
+                }
+                parser.skipChildren();
+            } else if ("value".equals(name) && column >= 0) {
+                writer.write(column, schema.getField(column), parser);
+            } else if ("value".equals(name) && !keySeen) {
+                pendingValue = new TokenBuffer(parser);
+                pendingValue.copyCurrentStructure(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    // Called with the parser on the value's first token; a structured value must be consumed to its end
+    @FunctionalInterface
+    interface CellWriter {
+        void write(int column, FieldValidator field, JsonParser parser) throws IOException;
+    }
+}
@@ -0,0 +1,15 @@
+package com.sandesh.formbuilder.service.export;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface ExportService {
+    void exportFormDataToExcel(UUID templateId, HttpServletResponse response);
+    void exportFormDataToExcel(UUID templateId, OutputStream outputStream);
+    void exportFormDataToExcelParts(UUID templateId, OutputStream outputStream);
+    String getExportFileName(UUID templateId, String extension);
+    void exportFormDataToCsv(UUID templateId, OutputStream outputStream);
+    void exportFormDataToNdjson(UUID templateId, OutputStream outputStream);
+}
@@ -0,0 +1,443 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.exception.FormExportException;
+import com.sandesh.formbuilder.repository.FormDataRepository;
+import com.sandesh.formbuilder.repository.FormRepository;
+import com.sandesh.formbuilder.service.form.FormSchemaCache;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FieldValidator;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+@Service
+@RequiredArgsConstructor
+public class ExportServiceImpl implements ExportService {
+
+    private final FormRepository formRepository;
+    private final FormDataRepository formDataRepository;
+    private final ObjectMapper objectMapper;
+    private final FormSchemaCache formSchemaCache;
+    private final MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${form.export.row-access-window:100}")
+    private int exportRowAccessWindow;
+
+    @Value("${form.export.compress-temp-files:true}")
+    private boolean exportCompressTempFiles;
+
+    @Value("${form.export.max-rows-per-sheet:1048575}")
+    private int exportMaxRowsPerSheet;
+
+    @Value("${form.export.max-rows-per-file:1000000}")
+    private long exportMaxRowsPerFile;
+
+    @Override
+    @Timed(value = "form.export", extraTags = {"format", "xlsx"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void exportFormDataToExcel(UUID templateId, HttpServletResponse response) {
+        writeExcel(templateId, () -> {
+            // Set response headers
+            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+            response.setHeader("Content-Disposition", "attachment; filename=" + buildFileName(templateId, "xlsx"));
+            return response.getOutputStream();
+        });
+    }
+
+    @Override
+    @Timed(value = "form.export", extraTags = {"format", "xlsx"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void exportFormDataToExcel(UUID templateId, OutputStream outputStream) {
+        writeExcel(templateId, () -> outputStream);
+    }
+
+    @Override
+    @Timed(value = "form.export", extraTags = {"format", "zip"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void exportFormDataToExcelParts(UUID templateId, OutputStream outputStream) {
+        FormTemplate formTemplate = getFormTemplate(templateId);
+
+        if (!formDataRepository.existsByFormTemplateId(templateId)) {
+            throw new IllegalArgumentException("No form data found for template ID " + templateId);
+        }
+
+        // Each part is already a compressed workbook, so the zip only frames them
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        String partPrefix = buildFileName(templateId, "xlsx").replace(".xlsx", "_part");
+        ExcelSheets sheets = new ExcelSheets(formTemplate.getName() + "Responses", formSchemaCache.get(formTemplate));
+        try {
+            Counter rows = exportRows("xlsx");
+            Counter bytes = exportBytes("zip");
+            int[] part = {0};
+            long[] rowsInPart = {0};
+            forEachFormData(templateId, formData -> {
+                // A finished part is written out and its temporary files deleted before the next one starts
+                if (exportMaxRowsPerFile > 0 && rowsInPart[0] == exportMaxRowsPerFile) {
+                    writePart(sheets, zip, partPrefix + ++part[0] + ".xlsx", bytes);
+                    rowsInPart[0] = 0;
+                }
+                sheets.writeRow(formData);
+                rowsInPart[0]++;
+                rows.increment();
+            });
+            writePart(sheets, zip, partPrefix + ++part[0] + ".xlsx", bytes);
+            zip.finish();
+        } catch (IOException e) {
+            throw new FormExportException("Error writing Excel export parts");
+        } finally {
+            sheets.dispose();
+        }
+    }
+
+    // The target is only opened once every row is in the workbook, so an HTTP response stays
+    // uncommitted while an error can still become a JSON error body
+    private void writeExcel(UUID templateId, ExcelTarget target) {
+
+        FormTemplate formTemplate = getFormTemplate(templateId);
+
+        if (!formDataRepository.existsByFormTemplateId(templateId)) {
+            throw new IllegalArgumentException("No form data found for template ID " + templateId);
+        }
+
+        ExcelSheets sheets = new ExcelSheets(formTemplate.getName() + "Responses", formSchemaCache.get(formTemplate));
+        try {
+            // Populate data rows straight from the database cursor
+            Counter rows = exportRows("xlsx");
+            forEachFormData(templateId, formData -> {
+                sheets.writeRow(formData);
+                rows.increment();
+            });
+
+            // Write the workbook to the target stream
+            sheets.writeTo(new MeteredOutputStream(target.open(), exportBytes("xlsx")));
+        } catch (IOException e) {
+            throw new FormExportException("Error creating Excel workbook");
+        } finally {
+            sheets.dispose();
+        }
+    }
+
+    private static void writePart(ExcelSheets sheets, ZipOutputStream zip, String name, Counter bytes) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        try {
+            sheets.writeTo(new MeteredOutputStream(zip, bytes));
+        } finally {
+            sheets.dispose();
+        }
+        zip.closeEntry();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getExportFileName(UUID templateId, String extension) {
+        if (!formRepository.existsById(templateId)) {
+            throw new IllegalArgumentException("Form Template with ID " + templateId + " not found");
+        }
+        return buildFileName(templateId, extension);
+    }
+
+    @Override
+    @Timed(value = "form.export", extraTags = {"format", "csv"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void exportFormDataToCsv(UUID templateId, OutputStream outputStream) {
+        FormTemplate formTemplate = getFormTemplate(templateId);
+
+        try {
+            Counter rows = exportRows("csv");
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new MeteredOutputStream(outputStream, exportBytes("csv")),
+                    StandardCharsets.UTF_8), 64 * 1024);
+            CompiledFormSchema schema = formSchemaCache.get(formTemplate);
+            writeCsvRow(writer, getHeaders(schema));
+
+            // One values array for the whole export, refilled per row in schema column order
+            ExportRowDecoder decoder = new ExportRowDecoder(schema, objectMapper.getFactory());
+            String[] values = new String[decoder.columns() + 1];
+            ExportRowDecoder.CellWriter cellWriter = (column, field, parser) -> values[column] = csvText(parser);
+            forEachFormData(templateId, formData -> {
+                Arrays.fill(values, "");
+                decoder.decode(formData.getJsonData(), cellWriter);
+                values[decoder.columns()] = formData.getCreatedAt() != null ? formData.getCreatedAt().toString() : "";
+                writeCsvRow(writer, values);
+                rows.increment();
+            });
+            writer.flush();
+        } catch (IOException e) {
+            throw new FormExportException("Error writing CSV export");
+        }
+    }
+
+    @Override
+    @Timed(value = "form.export", extraTags = {"format", "ndjson"}, histogram = true)
+    @Transactional(readOnly = true)
+    public void exportFormDataToNdjson(UUID templateId, OutputStream outputStream) {
+        getFormTemplate(templateId);
+
+        Counter rows = exportRows("ndjson");
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(new MeteredOutputStream(outputStream, exportBytes("ndjson")))) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            forEachFormData(templateId, formData -> {
+                // Stored jsonData is already canonical JSON, so it is copied through without parsing
+                generator.writeStartObject();
+                generator.writeStringField("formDataId", formData.getId().toString());
+                generator.writeStringField("createdAt", formData.getCreatedAt() != null ? formData.getCreatedAt().toString() : null);
+                generator.writeFieldName("jsonData");
+                generator.writeRawValue(formData.getJsonData() != null ? formData.getJsonData() : "[]");
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+                rows.increment();
+            });
+        } catch (IOException e) {
+            throw new FormExportException("Error writing NDJSON export");
+        }
+    }
+
+    // Incremented per row as it is written, so rate() gives rows/sec while a long export is still running
+    private Counter exportRows(String format) {
+        return Counter.builder("form.export.rows")
+                .description("Submissions written to exports")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    // Bytes handed to the response, before any gzip applied around it
+    private Counter exportBytes(String format) {
+        return Counter.builder("form.export.bytes")
+                .description("Bytes written by exports")
+                .baseUnit("bytes")
+                .tag("format", format)
+                .register(meterRegistry);
+    }
+
+    private FormTemplate getFormTemplate(UUID templateId) {
+        return formRepository.findById(templateId)
+                .orElseThrow(() -> new IllegalArgumentException("Form Template with ID " + templateId + " not found"));
+    }
+
+    private static List<String> getHeaders(CompiledFormSchema schema) {
+        List<FieldValidator> fields = schema.getFields();
+        String[] headers = new String[fields.size() + 1];
+        for (int i = 0; i < fields.size(); i++) {
+            headers[i] = fields.get(i).getLabel(); // label is used as column header
+        }
+        headers[fields.size()] = "Submitted At";
+        return List.of(headers);
+    }
+
+    // Numbers keep their stored literal and structured values (not produced by current validation) their JSON
+    private static String csvText(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case VALUE_NULL -> "";
+            case START_ARRAY, START_OBJECT -> parser.readValueAsTree().toString();
+            default -> parser.getText();
+        };
+    }
+
+    // Walks the template's submissions through a database cursor, detaching each row once written
+    // so nothing accumulates in the persistence context
+    private void forEachFormData(UUID templateId, FormDataWriter writer) throws IOException {
+        try (Stream<FormData> formDataStream = formDataRepository.streamByFormTemplateId(templateId)) {
+            Iterator<FormData> iterator = formDataStream.iterator();
+            while (iterator.hasNext()) {
+                FormData formData = iterator.next();
+                writer.write(formData);
+                entityManager.detach(formData);
+            }
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, List<String> values) throws IOException {
+        writeCsvRow(writer, values.toArray(new String[0]));
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvValue(writer, values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote values containing separators, quotes or line breaks, doubling embedded quotes
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static String buildFileName(UUID templateId, String extension) {
+        return "form_responses_" + templateId + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + "." + extension;
+    }
+
+    private static final class MeteredOutputStream extends FilterOutputStream {
+        private final Counter bytes;
+
+        private MeteredOutputStream(OutputStream out, Counter bytes) {
+            super(out);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            bytes.increment();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            bytes.increment(len);
+        }
+
+        // The caller owns the underlying stream
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+    // Streaming workbook whose rows roll over to a new sheet, with the header repeated, once a sheet
+    // holds exportMaxRowsPerSheet of them. Only the last exportRowAccessWindow rows stay in memory; the
+    // rest are flushed to temporary files until the workbook is written. After dispose() the next row
+    // starts a new workbook, which is how exports are split into parts.
+    private final class ExcelSheets {
+        private final String baseSheetName;
+        private final CompiledFormSchema schema;
+        private final List<String> headers;
+        private SXSSFWorkbook workbook;
+        private ExcelRowWriter rowWriter;
+        private Sheet sheet;
+        private int rowsInSheet;
+
+        private ExcelSheets(String baseSheetName, CompiledFormSchema schema) {
+            this.baseSheetName = baseSheetName;
+            this.schema = schema;
+            this.headers = getHeaders(schema);
+        }
+
+        void writeRow(FormData formData) throws IOException {
+            if (sheet == null || rowsInSheet == maxRowsPerSheet()) {
+                startSheet();
+            }
+            rowWriter.write(sheet.createRow(++rowsInSheet), formData);
+        }
+
+        void writeTo(OutputStream outputStream) throws IOException {
+            if (workbook == null) {
+                startSheet();
+            }
+            workbook.write(outputStream);
+        }
+
+        private void startSheet() {
+            if (workbook == null) {
+                workbook = new SXSSFWorkbook(exportRowAccessWindow);
+                workbook.setCompressTempFiles(exportCompressTempFiles);
+                rowWriter = new ExcelRowWriter(workbook, schema, objectMapper.getFactory());
+            }
+            sheet = workbook.createSheet(sheetName(baseSheetName, workbook.getNumberOfSheets() + 1));
+            Row headerRow = sheet.createRow(0);
+            int columnIndex = 0;
+            for (String header : headers) {
+                Cell cell = headerRow.createCell(columnIndex++);
+                cell.setCellValue(header);
+            }
+            rowsInSheet = 0;
+        }
+
+        // Deletes the workbook's temporary files
+        void dispose() {
+            if (workbook == null) {
+                return;
+            }
+            try (SXSSFWorkbook disposed = workbook) {
+                disposed.dispose();
+            } catch (IOException e) {
+                // Only closes the in-memory template workbook
+            }
+            workbook = null;
+            rowWriter = null;
+            sheet = null;
+        }
+    }
+
+    // Excel allows 1,048,576 rows per sheet including the header
+    private int maxRowsPerSheet() {
+        return Math.min(exportMaxRowsPerSheet, SpreadsheetVersion.EXCEL2007.getMaxRows() - 1);
+    }
+
+    // Sheet names are capped at 31 characters and may not contain []:*?/\; later sheets get " (2)", " (3)", ...
+    private static String sheetName(String baseName, int sheetNumber) {
+        String suffix = sheetNumber == 1 ? "" : " (" + sheetNumber + ")";
+        String safeName = WorkbookUtil.createSafeSheetName(baseName);
+        return safeName.substring(0, Math.min(safeName.length(), 31 - suffix.length())) + suffix;
+    }
+
+    @FunctionalInterface
+    private interface ExcelTarget {
+        OutputStream open() throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface FormDataWriter {
+        void write(FormData formData) throws IOException;
+    }
+}
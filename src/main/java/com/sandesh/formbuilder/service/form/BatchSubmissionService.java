@@ -0,0 +1,11 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.dto.BatchSubmissionResponse;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+public interface BatchSubmissionService {
+    // Reads a JSON array of submissions, or one submission per line when ndjson is set
+    BatchSubmissionResponse fillUpForms(InputStream formDataRequest, UUID formTemplateId, boolean ndjson, boolean provideResponse);
+}
@@ -0,0 +1,259 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.dto.BatchSubmissionResponse;
+import com.sandesh.formbuilder.dto.BatchSubmissionResult;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.enums.SubmissionStatus;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FormDataReader;
+import com.sandesh.formbuilder.validation.ValidatedFormData;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// Bulk upload for kiosk and offline-sync clients. Records are validated as they are read and
+// written chunk-size at a time, each chunk in its own transaction as one JDBC batch
+// (hibernate.jdbc.batch_size), so a bad record or a failed chunk never loses the rest.
+@Slf4j
+@Service
+public class BatchSubmissionServiceImpl implements BatchSubmissionService {
+
+    private final ObjectMapper objectMapper;
+    private final FormSchemaCache formSchemaCache;
+    private final FormSubmissionWriter formSubmissionWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final FormMetrics formMetrics;
+    private final int chunkSize;
+    private final int maxRecords;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public BatchSubmissionServiceImpl(ObjectMapper objectMapper,
+                                      FormSchemaCache formSchemaCache,
+                                      FormSubmissionWriter formSubmissionWriter,
+                                      PlatformTransactionManager transactionManager,
+                                      FormMetrics formMetrics,
+                                      @Value("${form.batch.chunk-size:500}") int chunkSize,
+                                      @Value("${form.batch.max-records:10000}") int maxRecords) {
+        this.objectMapper = objectMapper;
+        this.formSchemaCache = formSchemaCache;
+        this.formSubmissionWriter = formSubmissionWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.formMetrics = formMetrics;
+        this.chunkSize = chunkSize;
+        this.maxRecords = maxRecords;
+    }
+
+    @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "fill-batch"}, histogram = true)
+    public BatchSubmissionResponse fillUpForms(InputStream formDataRequest, UUID formId, boolean ndjson, boolean provideResponse) {
+        if (formId == null) {
+            throw new IllegalArgumentException("Form Template ID is required");
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated() || !(authentication.getPrincipal() instanceof AuthenticatedUser principal)) {
+            throw new IllegalStateException("User not authenticated");
+        }
+        String email = principal.getEmail();
+        UUID userId = principal.getId();
+        CompiledFormSchema schema = formSchemaCache.get(formId);
+
+        ChunkWriter writer = new ChunkWriter(schema, userId, email, provideResponse);
+        try {
+            if (ndjson) {
+                readNdjson(schema, formDataRequest, writer);
+            } else {
+                readJsonArray(schema, formDataRequest, writer);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read batch: " + e.getMessage());
+        }
+        writer.flush();
+        return writer.toResponse();
+    }
+
+    private void readJsonArray(CompiledFormSchema schema, InputStream body, ChunkWriter writer) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IllegalArgumentException("Request body is missing");
+            }
+            if (token != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Request body must be a JSON array of {\"jsonData\": [...]} objects");
+            }
+            JsonStreamContext arrayContext = parser.getParsingContext();
+
+            int index = 0;
+            try {
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    if (index >= maxRecords) {
+                        writer.reject(index, "Batch is limited to " + maxRecords + " records; the rest was not read");
+                        return;
+                    }
+                    try {
+                        writer.add(index, FormDataReader.readSubmission(schema, parser));
+                    } catch (IllegalArgumentException e) {
+                        formMetrics.validationFailed(e);
+                        // Skip whatever is left of the rejected record first; a syntax error in it wins
+                        skipRestOfRecord(parser, arrayContext);
+                        writer.reject(index, e.getMessage());
+                    }
+                    index++;
+                }
+            } catch (JsonProcessingException e) {
+                // The array can't be resynchronised after a syntax error; records before it still count
+                writer.reject(index, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    // The reader may have stopped anywhere inside the record. skipChildren() passes over the object or
+    // array the parser is on in one go, which is the whole record when the reader failed on its start.
+    private static void skipRestOfRecord(JsonParser parser, JsonStreamContext arrayContext) throws IOException {
+        while (parser.getParsingContext() != arrayContext) {
+            parser.skipChildren();
+            if (parser.getParsingContext() != arrayContext && parser.nextToken() == null) {
+                return;
+            }
+        }
+    }
+
+    // Lines are independent, so a malformed line only rejects that record
+    private void readNdjson(CompiledFormSchema schema, InputStream body, ChunkWriter writer) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (index >= maxRecords) {
+                writer.reject(index, "Batch is limited to " + maxRecords + " records; the rest was not read");
+                return;
+            }
+            try (JsonParser parser = objectMapper.createParser(line)) {
+                ValidatedFormData validatedFormData = FormDataReader.readSubmission(schema, parser);
+                if (parser.nextToken() != null) {
+                    throw new IllegalArgumentException("Unexpected content after the submission object");
+                }
+                writer.add(index, validatedFormData);
+            } catch (IllegalArgumentException e) {
+                formMetrics.validationFailed(e);
+                writer.reject(index, e.getMessage());
+            } catch (JsonProcessingException e) {
+                writer.reject(index, "Malformed JSON: " + e.getOriginalMessage());
+            }
+            index++;
+        }
+    }
+
+    // Buffers validated records and writes them a chunk at a time. Results are created in input
+    // order when a record is read and filled in once its chunk commits.
+    private final class ChunkWriter {
+        private final CompiledFormSchema schema;
+        private final UUID userId;
+        private final String email;
+        private final boolean provideResponse;
+        private final List<BatchSubmissionResult> results = new ArrayList<>();
+        private final List<ValidatedFormData> pending = new ArrayList<>();
+        private final List<BatchSubmissionResult> pendingResults = new ArrayList<>();
+
+        private ChunkWriter(CompiledFormSchema schema, UUID userId, String email, boolean provideResponse) {
+            this.schema = schema;
+            this.userId = userId;
+            this.email = email;
+            this.provideResponse = provideResponse;
+        }
+
+        void add(int index, ValidatedFormData validatedFormData) {
+            BatchSubmissionResult result = new BatchSubmissionResult();
+            result.setIndex(index);
+            results.add(result);
+            pending.add(validatedFormData);
+            pendingResults.add(result);
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(int index, String error) {
+            BatchSubmissionResult result = new BatchSubmissionResult();
+            result.setIndex(index);
+            result.setStatus(SubmissionStatus.REJECTED);
+            result.setError(error);
+            results.add(result);
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                List<FormData> saved = transactionTemplate.execute(status -> insertChunk());
+                for (int i = 0; i < saved.size(); i++) {
+                    BatchSubmissionResult result = pendingResults.get(i);
+                    result.setStatus(SubmissionStatus.CREATED);
+                    result.setFormDataId(saved.get(i).getId());
+                    result.setCreatedAt(saved.get(i).getCreatedAt());
+                }
+            } catch (RuntimeException e) {
+                // The cause can carry SQL and constraint names, so it is logged rather than returned
+                log.error("Could not save a chunk of {} submissions for template {}", pending.size(), schema.getTemplateId(), e);
+                for (BatchSubmissionResult result : pendingResults) {
+                    result.setStatus(SubmissionStatus.REJECTED);
+                    result.setError("Could not save submission");
+                }
+            } finally {
+                pending.clear();
+                pendingResults.clear();
+            }
+        }
+
+        private List<FormData> insertChunk() {
+            List<NewSubmission> submissions = new ArrayList<>(pending.size());
+            for (ValidatedFormData validatedFormData : pending) {
+                submissions.add(new NewSubmission(schema, userId, validatedFormData, provideResponse ? email : null));
+            }
+            List<FormData> saved = formSubmissionWriter.write(submissions);
+
+            // If open-in-view is on, the persistence context outlives this transaction, so don't let it
+            // accumulate every record of the batch
+            entityManager.flush();
+            entityManager.clear();
+            return saved;
+        }
+
+        BatchSubmissionResponse toResponse() {
+            BatchSubmissionResponse response = new BatchSubmissionResponse();
+            int accepted = (int) results.stream().filter(result -> result.getStatus() == SubmissionStatus.CREATED).count();
+            response.setAccepted(accepted);
+            response.setRejected(results.size() - accepted);
+            response.setResults(results);
+            return response;
+        }
+    }
+}
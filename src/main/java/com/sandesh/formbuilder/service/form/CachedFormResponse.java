@@ -0,0 +1,9 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.dto.FormResponse;
+import org.springframework.http.CacheControl;
+
+// A template as served by GET /api/forms/{id}: the whole APIResponse already serialized, and a strong
+// ETag derived from the template's content. The parsed FormResponse is kept for the list endpoints.
+public record CachedFormResponse(FormResponse form, byte[] body, String etag, CacheControl cacheControl) {
+}
@@ -0,0 +1,54 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.enums.FormFieldType;
+import com.sandesh.formbuilder.enums.SubmissionPhase;
+import com.sandesh.formbuilder.exception.FieldValidationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Meters shared by the submission paths: time spent in each phase of a submission, and rejected
+// values by the type of the field that rejected them. Registered up front so every series exists
+// at zero from startup.
+@Component
+public class FormMetrics {
+
+    private final Map<SubmissionPhase, Timer> phaseTimers = new EnumMap<>(SubmissionPhase.class);
+    private final Map<FormFieldType, Counter> validationFailures = new EnumMap<>(FormFieldType.class);
+
+    public FormMetrics(MeterRegistry meterRegistry) {
+        for (SubmissionPhase phase : SubmissionPhase.values()) {
+            phaseTimers.put(phase, Timer.builder("form.submit.phase")
+                    .description("Time spent in one phase of a form submission")
+                    .tag("phase", phase.name().toLowerCase())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        for (FormFieldType type : FormFieldType.values()) {
+            validationFailures.put(type, Counter.builder("form.validation.failures")
+                    .description("Submitted values rejected, by the type of the field that rejected them")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> T time(SubmissionPhase phase, Supplier<T> step) {
+        return phaseTimers.get(phase).record(step);
+    }
+
+    public void time(SubmissionPhase phase, Runnable step) {
+        phaseTimers.get(phase).record(step);
+    }
+
+    // Counts the rejection when it came from a field; other errors (malformed JSON, wrong length) are not per type
+    public void validationFailed(IllegalArgumentException exception) {
+        if (exception instanceof FieldValidationException fieldException) {
+            validationFailures.get(fieldException.getFieldType()).increment();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sandesh.formbuilder.dto.FormResponse;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.exception.FormNotFoundException;
+import com.sandesh.formbuilder.repository.FormRepository;
+import com.sandesh.formbuilder.util.APIResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Template responses keyed by template id, so a template fetched by every respondent is parsed and
+// serialized once. Like FormSchemaCache, entries only need evicting when the template is deleted.
+// The envelope's timestamp is the time the entry was built.
+@Component
+public class FormResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final FormRepository formRepository;
+    private final CacheControl cacheControl;
+    private final Cache<UUID, CachedFormResponse> cache;
+
+    public FormResponseCache(ObjectMapper objectMapper,
+                             FormRepository formRepository,
+                             @Value("${form.response-cache.max-size:1000}") long maxSize,
+                             @Value("${form.response-cache.max-age:0s}") Duration maxAge) {
+        this.objectMapper = objectMapper;
+        this.formRepository = formRepository;
+        // Responses need a token, so only the client may keep them. With no max-age the client
+        // revalidates every time, which costs a 304 and no body.
+        this.cacheControl = maxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAge).cachePrivate();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public CachedFormResponse get(FormTemplate formTemplate) {
+        return cache.get(formTemplate.getId(), id -> build(formTemplate));
+    }
+
+    // Reads form_template only on a miss, outside the cache's compute for the reason in FormSchemaCache.get(UUID)
+    public CachedFormResponse get(UUID templateId) {
+        CachedFormResponse cached = cache.getIfPresent(templateId);
+        if (cached != null) {
+            return cached;
+        }
+        FormTemplate formTemplate = formRepository.findById(templateId)
+                .orElseThrow(() -> new FormNotFoundException("Form Template with template ID: " + templateId + " does not exist."));
+        return get(formTemplate);
+    }
+
+    public void evict(UUID templateId) {
+        cache.invalidate(templateId);
+    }
+
+    private CachedFormResponse build(FormTemplate formTemplate) {
+        try {
+            FormResponse formResponse = new FormResponse();
+            formResponse.setTemplateId(formTemplate.getId());
+            formResponse.setName(formTemplate.getName());
+            formResponse.setCreatedAt(formTemplate.getCreatedAt());
+            formResponse.setAllowEdit(formTemplate.isAllowEdit());
+            formResponse.setAllowDelete(formTemplate.isAllowDelete());
+            List<Map<String, Object>> parsedSchema = objectMapper.readValue(formTemplate.getJsonSchema(), new TypeReference<List<Map<String, Object>>>() {});
+            formResponse.setJsonSchema(parsedSchema);
+
+            byte[] body = objectMapper.writeValueAsBytes(new APIResponse<>(HttpStatus.OK, "Form retrieved successfully", formResponse));
+            String etag = "\"" + HexFormat.of().formatHex(sha256(objectMapper.writeValueAsBytes(formResponse)), 0, 16) + "\"";
+            return new CachedFormResponse(formResponse, body, etag, cacheControl);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to parse JSON schema for form " + formTemplate.getId() + ": " + e.getMessage());
+        }
+    }
+
+    private static byte[] sha256(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.repository.FormRepository;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+// Compiled schemas keyed by template id. Templates can't be edited once created,
+// so the only invalidation needed is on delete.
+@Component
+public class FormSchemaCache {
+
+    private final ObjectMapper objectMapper;
+    private final FormRepository formRepository;
+    private final Cache<UUID, CompiledFormSchema> cache;
+
+    public FormSchemaCache(ObjectMapper objectMapper,
+                           FormRepository formRepository,
+                           @Value("${form.schema-cache.max-size:1000}") long maxSize) {
+        this.objectMapper = objectMapper;
+        this.formRepository = formRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public CompiledFormSchema get(FormTemplate formTemplate) {
+        return cache.get(formTemplate.getId(), id -> CompiledFormSchema.compile(formTemplate, objectMapper));
+    }
+
+    // Reads form_template only on a miss, so a warm submission never loads the template row. The read
+    // happens before the cache's compute: a loader that waits for a pooled connection while holding the
+    // map's lock blocks callers that already hold one (getAllForms), and under load that exhausts the
+    // pool for good. FormResponseCache loads the same way.
+    public CompiledFormSchema get(UUID templateId) {
+        CompiledFormSchema cached = cache.getIfPresent(templateId);
+        if (cached != null) {
+            return cached;
+        }
+        return get(formRepository.findById(templateId)
+                .orElseThrow(() -> new IllegalArgumentException("Form Template with id: " + templateId + " does not exist.")));
+    }
+
+    public void evict(UUID templateId) {
+        cache.invalidate(templateId);
+    }
+}
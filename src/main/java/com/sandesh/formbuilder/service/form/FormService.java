@@ -1,25 +1,28 @@
 package com.sandesh.formbuilder.service.form;
 
-import com.sandesh.formbuilder.dto.FormDataRequest;
+import com.sandesh.formbuilder.dto.CursorPageResponse;
 import com.sandesh.formbuilder.dto.FormDataResponse;
 import com.sandesh.formbuilder.dto.FormRequest;
 
 import com.sandesh.formbuilder.dto.FormResponse;
-import jakarta.servlet.http.HttpServletResponse;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
 public interface FormService {
     FormResponse createForm(FormRequest formCreationRequest);
     List<FormResponse> getAllForms(int offset, int limit, String name);
-    FormDataResponse fillUpForm(FormDataRequest formDataRequest, UUID formTemplateId, boolean provideResponse);
+    CursorPageResponse<FormResponse> getAllForms(String cursor, int limit, String name);
+    FormDataResponse fillUpForm(InputStream formDataRequest, UUID formTemplateId, boolean provideResponse);
     List<FormDataResponse> getFormDataByTemplateId(UUID templateId, int offset, int limit);
+    CursorPageResponse<FormDataResponse> getFormDataByTemplateId(UUID templateId, String cursor, int limit);
+    CursorPageResponse<FormDataResponse> getFormDataByTemplateId(UUID templateId, List<String> filters, String cursor, int limit);
     List<FormDataResponse> getFormResponseByTemplateId(UUID id);
-    FormResponse getFormTemplateById(UUID templateId);
+    CursorPageResponse<FormDataResponse> getFormResponseByTemplateId(UUID id, String cursor, int limit);
+    CachedFormResponse getFormTemplateById(UUID templateId);
     void deleteFormTemplateById(UUID templateId);
     void deleteFormDataById(UUID formId);
-    FormDataResponse editFormDataById(UUID id,FormDataRequest newFormData);
+    FormDataResponse editFormDataById(UUID id, InputStream newFormData);
     FormDataResponse getFormDataById(UUID id);
-    void exportFormDataToExcel(UUID templateId, HttpServletResponse response);
 }
@@ -1,44 +1,40 @@
 package com.sandesh.formbuilder.service.form;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sandesh.formbuilder.dto.FormDataRequest;
+import com.sandesh.formbuilder.dto.CursorPageResponse;
 import com.sandesh.formbuilder.dto.FormDataResponse;
 import com.sandesh.formbuilder.dto.FormRequest;
 import com.sandesh.formbuilder.dto.FormResponse;
 import com.sandesh.formbuilder.entity.FormData;
 import com.sandesh.formbuilder.entity.FormTemplate;
-import com.sandesh.formbuilder.entity.User;
-import com.sandesh.formbuilder.exception.FormExportException;
+import com.sandesh.formbuilder.enums.SubmissionPhase;
 import com.sandesh.formbuilder.repository.FormDataRepository;
 import com.sandesh.formbuilder.repository.FormRepository;
-import com.sandesh.formbuilder.repository.UserRepository;
-import jakarta.servlet.http.HttpServletResponse;
+import com.sandesh.formbuilder.service.analytics.FormAnalyticsService;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.service.email.EmailService;
+import com.sandesh.formbuilder.util.PageCursor;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FormDataFilter;
+import com.sandesh.formbuilder.validation.FormDataReader;
+import com.sandesh.formbuilder.validation.ValidatedFormData;
 
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.streaming.SXSSFWorkbook;
-import org.json.JSONArray;
-import org.json.JSONException;
-import org.json.JSONObject;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
 import java.util.*;
 
 @Service
@@ -47,11 +43,22 @@ public class FormServiceImpl implements FormService {
 
     private final FormRepository formRepository;
     private final FormDataRepository formDataRepository;
-    private final UserRepository userRepository;
     private final ObjectMapper objectMapper;
-    private final JavaMailSender mailSender;
+    private final EmailService emailService;
+    private final FormSchemaCache formSchemaCache;
+    private final FormResponseCache formResponseCache;
+    private final FormAnalyticsService formAnalyticsService;
+    private final FormSubmissionWriter formSubmissionWriter;
+    private final SubmissionGroupCommitter submissionGroupCommitter;
+    private final TransactionTemplate transactionTemplate;
+    private final FormMetrics formMetrics;
+
+    // Largest page the cursor endpoints serve
+    @Value("${form.pagination.max-limit:100}")
+    private int maxLimit;
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "create"}, histogram = true)
     public FormResponse createForm(FormRequest formCreationRequest) {
         try {
             // Serialize jsonSchema to string for storage
@@ -78,6 +85,7 @@ public class FormServiceImpl implements FormService {
     }
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "list"}, histogram = true)
     @Transactional(readOnly = true)
     public List<FormResponse> getAllForms(int offset, int limit, String name) {
         List<FormTemplate> forms;
@@ -88,76 +96,91 @@ public class FormServiceImpl implements FormService {
         }
         List<FormResponse> formResponses = new ArrayList<>();
         for (FormTemplate formTemplate : forms) {
-            try {
-                FormResponse formResponse = new FormResponse();
-                formResponse.setTemplateId(formTemplate.getId());
-                formResponse.setName(formTemplate.getName());
-                formResponse.setCreatedAt(formTemplate.getCreatedAt());
-                formResponse.setAllowEdit(formTemplate.isAllowEdit());
-                formResponse.setAllowDelete(formTemplate.isAllowDelete());
-                List<Map<String, Object>> parsedSchema = objectMapper.readValue(formTemplate.getJsonSchema(), new TypeReference<List<Map<String, Object>>>() {});
-                formResponse.setJsonSchema(parsedSchema);
-                formResponses.add(formResponse);
-            } catch (JsonProcessingException e) {
-                throw new IllegalArgumentException("Failed to parse JSON schema for form " + formTemplate.getId() + ": " + e.getMessage());
-            }
+            formResponses.add(toFormResponse(formTemplate));
         }
         return formResponses;
     }
 
-
     @Override
-    public FormDataResponse fillUpForm(FormDataRequest formDataRequest, UUID formId, boolean provideResponse) {
-        if (formId == null) {
-            throw new IllegalArgumentException("Form Template ID is required");
-        }
+    @Timed(value = "form.operation", extraTags = {"operation", "list"}, histogram = true)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FormResponse> getAllForms(String cursor, int limit, String name) {
+        validateLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
+        boolean byName = name != null && !name.trim().isEmpty();
 
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new IllegalStateException("User not authenticated");
+        // Fetch one extra row to know whether there is a next page
+        List<FormTemplate> forms;
+        if (after == null) {
+            forms = byName
+                    ? formRepository.findFirstPageByName(name.trim(), limit + 1)
+                    : formRepository.findFirstPage(limit + 1);
+        } else {
+            forms = byName
+                    ? formRepository.findPageByNameAfter(name.trim(), after.createdAt(), after.id(), limit + 1)
+                    : formRepository.findPageAfter(after.createdAt(), after.id(), limit + 1);
         }
 
-        // Extract email from JWT token
-        String email = extractEmailFromToken(authentication);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found"));
-
-        // Retrieve the form template
-        FormTemplate formTemplate = formRepository.findById(formId)
-                .orElseThrow(() -> new IllegalArgumentException("Form Template with id: " + formId + " does not exist."));
-
-        try {
-            FormData formData = validateFormData(formTemplate, formDataRequest.getJsonData());
-            formData.setFormTemplate(formTemplate);
-            formData.setUser(user);
-
-            FormData savedFormData = formDataRepository.save(formData);
+        List<FormResponse> formResponses = new ArrayList<>();
+        for (FormTemplate formTemplate : forms.subList(0, Math.min(limit, forms.size()))) {
+            formResponses.add(toFormResponse(formTemplate));
+        }
+        String nextCursor = null;
+        if (forms.size() > limit) {
+            FormTemplate last = forms.get(limit - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageResponse<>(formResponses, nextCursor);
+    }
 
-            // Add to formTemplate's formDataList
-            formTemplate.getFormDataList().add(formData);
-            formRepository.save(formTemplate);
 
-            FormDataResponse formDataResponse = new FormDataResponse();
-            formDataResponse.setFormDataId(savedFormData.getId());
-            formDataResponse.setJsonData(formDataRequest.getJsonData());
-            formDataResponse.setCreatedAt(savedFormData.getCreatedAt());
+    // Not @Transactional: in group-commit mode the caller must not hold a connection while it waits
+    @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "fill"}, histogram = true)
+    public FormDataResponse fillUpForm(InputStream formDataRequest, UUID formId, boolean provideResponse) {
+        if (formId == null) {
+            throw new IllegalArgumentException("Form Template ID is required");
+        }
 
-            // Send email if provideResponse is true
-            if (provideResponse) {
-                sendResponseEmail(email, formDataRequest.getJsonData(), formTemplate.getName());
+        // The caller's id and email come from the verified token
+        AuthenticatedUser user = formMetrics.time(SubmissionPhase.AUTH, () -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !authentication.isAuthenticated()) {
+                throw new IllegalStateException("User not authenticated");
             }
+            return currentUser(authentication);
+        });
+        UUID userId = user.getId();
+        String email = user.getEmail();
 
-            return formDataResponse;
-        } catch (JSONException e) {
-            throw new IllegalArgumentException("Invalid schema for form template with id: " + formId + ": " + e.getMessage());
+        // The compiled schema comes from the cache; the template row is only read on a miss
+        CompiledFormSchema schema = formMetrics.time(SubmissionPhase.TEMPLATE, () -> formSchemaCache.get(formId));
+
+        ValidatedFormData validatedFormData;
+        try {
+            validatedFormData = formMetrics.time(SubmissionPhase.VALIDATION, () -> readFormData(schema, formDataRequest));
         } catch (Exception e) {
             throw new IllegalArgumentException("Error parsing form data: " + e.getMessage());
         }
+
+        // The receipt email is queued in the same transaction as the row; it is delivered in the background.
+        // The insert phase covers the commit, so it includes queuing the email (also timed on its own).
+        NewSubmission submission = new NewSubmission(schema, userId, validatedFormData, provideResponse ? email : null);
+        FormData savedFormData = formMetrics.time(SubmissionPhase.INSERT, () -> submissionGroupCommitter.isEnabled()
+                ? submissionGroupCommitter.submit(submission)
+                : transactionTemplate.execute(status -> formSubmissionWriter.write(List.of(submission)).get(0)));
+
+        FormDataResponse formDataResponse = new FormDataResponse();
+        formDataResponse.setFormDataId(savedFormData.getId());
+        formDataResponse.setJsonData(validatedFormData.jsonData());
+        formDataResponse.setCreatedAt(savedFormData.getCreatedAt());
+        return formDataResponse;
     }
 
 
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "list-data"}, histogram = true)
     @Transactional(readOnly = true)
     public List<FormDataResponse> getFormDataByTemplateId(UUID templateId, int offset, int limit) {
         if (templateId == null) {
@@ -166,31 +189,14 @@ public class FormServiceImpl implements FormService {
 
         List<FormData> formData = formDataRepository.findByFormTemplateIdWithOffsetAndLimit(templateId, offset, limit);
         List<FormDataResponse> formDataResponses = new ArrayList<>();
-
         for (FormData data : formData) {
-            FormDataResponse formDataResponse = new FormDataResponse();
-            formDataResponse.setFormDataId(data.getId());
-            formDataResponse.setCreatedAt(data.getCreatedAt());
-
-            // Convert JSON string to List<Map<String, Object>>
-            List<Map<String, Object>> jsonDataList = new ArrayList<>();
-            try {
-                if (data.getJsonData() != null && !data.getJsonData().trim().isEmpty()) {
-                    // Parse the stored JSON string using ObjectMapper to handle any format
-                    jsonDataList = objectMapper.readValue(data.getJsonData(), new TypeReference<List<Map<String, Object>>>() {});
-                }
-                formDataResponse.setJsonData(jsonDataList);
-            } catch (JsonProcessingException e) {
-                throw new IllegalArgumentException("Error parsing FormData with id: " + data.getId() + ": " + e.getMessage());
-            }
-
-            formDataResponses.add(formDataResponse);
+            formDataResponses.add(toFormDataResponse(data));
         }
-
         return formDataResponses;
     }
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "list-own-data"}, histogram = true)
     @Transactional(readOnly = true)
     public List<FormDataResponse> getFormResponseByTemplateId(UUID templateId){
         if (templateId == null) {
@@ -202,10 +208,7 @@ public class FormServiceImpl implements FormService {
             throw new IllegalStateException("User not authenticated");
         }
 
-        // Extract email from JWT token
-        String email = extractEmailFromToken(authentication);
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new IllegalStateException("User not found"));
+        AuthenticatedUser user = currentUser(authentication);
 
 
         //Get form data with templateId and user
@@ -213,59 +216,88 @@ public class FormServiceImpl implements FormService {
 
 
         List<FormDataResponse> formDataResponses = new ArrayList<>();
-
         for (FormData data : formData) {
-            FormDataResponse formDataResponse = new FormDataResponse();
-            formDataResponse.setFormDataId(data.getId());
-            formDataResponse.setCreatedAt(data.getCreatedAt());
+            formDataResponses.add(toFormDataResponse(data));
+        }
+        return formDataResponses;
+    }
 
-            // Convert JSON string to List<Map<String, Object>>
-            List<Map<String, Object>> jsonDataList = new ArrayList<>();
-            try {
-                if (data.getJsonData() != null && !data.getJsonData().trim().isEmpty()) {
-                    // Parse the stored JSON string using ObjectMapper to handle any format
-                    jsonDataList = objectMapper.readValue(data.getJsonData(), new TypeReference<List<Map<String, Object>>>() {});
-                }
-                formDataResponse.setJsonData(jsonDataList);
-            } catch (JsonProcessingException e) {
-                throw new IllegalArgumentException("Error parsing FormData with id: " + data.getId() + ": " + e.getMessage());
-            }
 
-            formDataResponses.add(formDataResponse);
+    @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "list-data"}, histogram = true)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FormDataResponse> getFormDataByTemplateId(UUID templateId, String cursor, int limit) {
+        if (templateId == null) {
+            throw new IllegalArgumentException("Template Id is required");
         }
+        validateLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
 
-        return formDataResponses;
+        List<FormData> formData = after == null
+                ? formDataRepository.findFirstPageByFormTemplateId(templateId, limit + 1)
+                : formDataRepository.findPageByFormTemplateIdAfter(templateId, after.createdAt(), after.id(), limit + 1);
+        return toFormDataPage(formData, limit);
     }
 
-
     @Override
-    public FormResponse getFormTemplateById(UUID templateId) {
+    @Timed(value = "form.operation", extraTags = {"operation", "filter-data"}, histogram = true)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FormDataResponse> getFormDataByTemplateId(UUID templateId, List<String> filters, String cursor, int limit) {
         if (templateId == null) {
-            throw new IllegalArgumentException("Template ID is required");
+            throw new IllegalArgumentException("Template Id is required");
         }
+        validateLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
 
         FormTemplate formTemplate = formRepository.findById(templateId)
-                .orElseThrow(() -> new IllegalArgumentException("Form Template with template ID: " + templateId + " does not exist."));
+                .orElseThrow(() -> new IllegalArgumentException("Form Template with ID " + templateId + " not found"));
+        CompiledFormSchema schema = formSchemaCache.get(formTemplate);
 
-        try {
-            FormResponse formResponse = new FormResponse();
-            formResponse.setTemplateId(formTemplate.getId());
-            formResponse.setName(formTemplate.getName());
-            formResponse.setCreatedAt(formTemplate.getCreatedAt());
-            formResponse.setAllowEdit(formTemplate.isAllowEdit());
-            formResponse.setAllowDelete(formTemplate.isAllowDelete());
+        List<FormDataFilter> formDataFilters = new ArrayList<>();
+        for (String filter : filters) {
+            formDataFilters.add(FormDataFilter.parse(schema, filter));
+        }
 
+        List<FormData> formData = formDataRepository.findPageByFilters(templateId, formDataFilters, after, limit + 1);
+        return toFormDataPage(formData, limit);
+    }
 
-            List<Map<String, Object>> parsedSchema = objectMapper.readValue(formTemplate.getJsonSchema(), new TypeReference<List<Map<String, Object>>>() {});
-            formResponse.setJsonSchema(parsedSchema);
+    @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "list-own-data"}, histogram = true)
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FormDataResponse> getFormResponseByTemplateId(UUID templateId, String cursor, int limit) {
+        if (templateId == null) {
+            throw new IllegalArgumentException("Template Id is required");
+        }
+        validateLimit(limit);
+        PageCursor after = PageCursor.decode(cursor);
 
-            return formResponse;
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Failed to parse schema for form " + formTemplate.getId() + ": " + e.getMessage());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new IllegalStateException("User not authenticated");
+        }
+
+        AuthenticatedUser user = currentUser(authentication);
+
+        List<FormData> formData = after == null
+                ? formDataRepository.findFirstPageByFormTemplateIdAndUserId(templateId, user.getId(), limit + 1)
+                : formDataRepository.findPageByFormTemplateIdAndUserIdAfter(templateId, user.getId(), after.createdAt(), after.id(), limit + 1);
+        return toFormDataPage(formData, limit);
+    }
+
+
+    @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "get"}, histogram = true)
+    public CachedFormResponse getFormTemplateById(UUID templateId) {
+        if (templateId == null) {
+            throw new IllegalArgumentException("Template ID is required");
         }
+
+        return formResponseCache.get(templateId);
     }
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "delete"}, histogram = true)
     public void deleteFormTemplateById(UUID templateId) {
         if (templateId == null) {
             throw new IllegalArgumentException("Template ID is required");
@@ -273,12 +305,16 @@ public class FormServiceImpl implements FormService {
 
         if (formRepository.findById(templateId).isPresent()) {
             formRepository.deleteById(templateId);
+            formSchemaCache.evict(templateId);
+            formResponseCache.evict(templateId);
         } else {
             throw new IllegalArgumentException("Form Template with Template ID: " + templateId + " does not exist.");
         }
     }
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "delete-data"}, histogram = true)
+    @Transactional
     public void deleteFormDataById(UUID formId) {
         if (formId == null) {
             throw new IllegalArgumentException("Form ID is required");
@@ -287,25 +323,25 @@ public class FormServiceImpl implements FormService {
         FormData formData = formDataRepository.findById(formId)
                 .orElseThrow(() -> new IllegalArgumentException("Form data with provided id does not exist"));
 
-        String userEmail = formData.getUser().getEmail();
+        UUID ownerId = formData.getUser().getId();
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("User not authenticated");
         }
 
-        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-
-        if (!Objects.equals(email, userEmail)) {
+        if (!Objects.equals(currentUser(authentication).getId(), ownerId)) {
             throw new AccessDeniedException("You don't have access to delete this form.");
         }
 
+        formAnalyticsService.recordChange(formSchemaCache.get(formData.getFormTemplate()), readStoredJsonData(formData), null);
         formDataRepository.deleteById(formId);
     }
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "edit"}, histogram = true)
     @Transactional
-    public FormDataResponse editFormDataById(UUID id, FormDataRequest newFormData) {
+    public FormDataResponse editFormDataById(UUID id, InputStream newFormData) {
         if (id == null) {
             throw new IllegalArgumentException("Form Data ID is required");
         }
@@ -322,30 +358,26 @@ public class FormServiceImpl implements FormService {
 
 
         //Only user who has created the form data can edit it
-        String userEmail = existingFormData.getUser().getEmail();
+        UUID ownerId = existingFormData.getUser().getId();
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("User not authenticated");
         }
 
-        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-
-        if (!Objects.equals(email, userEmail)) {
+        if (!Objects.equals(currentUser(authentication).getId(), ownerId)) {
             throw new AccessDeniedException("You do not have access to edit this form data.");
         }
 
 
         // Validate the new form data against the template
         FormTemplate formTemplate = existingFormData.getFormTemplate();
-        validateFormData(formTemplate, newFormData.getJsonData());
+        CompiledFormSchema schema = formSchemaCache.get(formTemplate);
+        ValidatedFormData validatedFormData = readFormData(schema, newFormData);
+        formAnalyticsService.recordChange(schema, readStoredJsonData(existingFormData), validatedFormData.jsonData());
 
         // Update the existing FormData with the new jsonData
-        try {
-            existingFormData.setJsonData(objectMapper.writeValueAsString(newFormData.getJsonData()));
-        } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Failed to serialize jsonData: " + e.getMessage());
-        }
+        existingFormData.setJsonData(validatedFormData.json());
 
         // Save the updated entity
         FormData savedFormData = formDataRepository.save(existingFormData);
@@ -353,13 +385,15 @@ public class FormServiceImpl implements FormService {
         // Prepare the response
         FormDataResponse formDataResponse = new FormDataResponse();
         formDataResponse.setFormDataId(savedFormData.getId());
-        formDataResponse.setJsonData(newFormData.getJsonData());
+        formDataResponse.setJsonData(validatedFormData.jsonData());
         formDataResponse.setCreatedAt(savedFormData.getCreatedAt());
 
         return formDataResponse;
     }
 
     @Override
+    @Timed(value = "form.operation", extraTags = {"operation", "get-data"}, histogram = true)
+    @Transactional(readOnly = true)
     public FormDataResponse getFormDataById(UUID id){
         if(id==null){
             throw  new IllegalArgumentException("Form Data Id is required");
@@ -372,16 +406,14 @@ public class FormServiceImpl implements FormService {
 
 
         //Only user who has created the form data can access it
-        String userEmail = formData.getUser().getEmail();
+        UUID ownerId = formData.getUser().getId();
 
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("User not authenticated");
         }
 
-        String email = ((UserDetails) authentication.getPrincipal()).getUsername();
-
-        if (!Objects.equals(email, userEmail)) {
+        if (!Objects.equals(currentUser(authentication).getId(), ownerId)) {
             throw new AccessDeniedException("You can not access this form data.");
         }
 
@@ -404,259 +436,74 @@ public class FormServiceImpl implements FormService {
 
     }
 
-    @Transactional(readOnly = true)
-    public void exportFormDataToExcel(UUID templateId, HttpServletResponse response) {
-
-        FormTemplate formTemplate = formRepository.findById(templateId)
-                .orElseThrow(() -> new IllegalArgumentException("Form Template with ID " + templateId + " not found"));
-
-        // Fetch all FormData for the template
-        List<FormData> formDataList = formDataRepository.findByFormTemplateId(templateId);
-        if (formDataList.isEmpty()) {
-            throw new IllegalArgumentException("No form data found for template ID " + templateId);
-        }
-
-        // Create a streaming workbook for large datasets
-        try (SXSSFWorkbook workbook = new SXSSFWorkbook()) {
-            // Create a sheet
-            Sheet sheet = workbook.createSheet(formTemplate.getName() + "Responses");
-
-            // Create header row
-            Row headerRow = sheet.createRow(0);
-            List<Map<String, Object>> schema = objectMapper.readValue(formTemplate.getJsonSchema(), new TypeReference<List<Map<String, Object>>>() {});
-            int columnIndex = 0;
-            for (Map<String, Object> field : schema) {
-                Cell cell = headerRow.createCell(columnIndex++);
-                cell.setCellValue((String) field.get("label")); // label is used as column header
-            }
-            headerRow.createCell(columnIndex).setCellValue("Submitted At");
-
-            // Populate data rows
-            int rowNum = 1;
-            for (FormData formData : formDataList) {
-                Row row = sheet.createRow(rowNum++);
-                List<Map<String, Object>> jsonData = objectMapper.readValue(formData.getJsonData(), new TypeReference<List<Map<String, Object>>>() {});
-
-                columnIndex = 0;
-                for (Map<String, Object> data : jsonData) {
-                    Cell cell = row.createCell(columnIndex++);
-                    cell.setCellValue(data.get("value") != null ? data.get("value").toString() : "");
-                }
-                // Add createdAt
-                Cell createdAtCell = row.createCell(columnIndex);
-                createdAtCell.setCellValue(formData.getCreatedAt() != null ? formData.getCreatedAt().toString() : "");
-            }
+    private FormResponse toFormResponse(FormTemplate formTemplate) {
+        return formResponseCache.get(formTemplate).form();
+    }
 
-            // Set response headers
-            response.setContentType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
-            String filename = "form_responses_" + templateId + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".xlsx";
-            response.setHeader("Content-Disposition", "attachment; filename=" + filename);
+    private FormDataResponse toFormDataResponse(FormData data) {
+        FormDataResponse formDataResponse = new FormDataResponse();
+        formDataResponse.setFormDataId(data.getId());
+        formDataResponse.setCreatedAt(data.getCreatedAt());
 
-            // Write the workbook to the response output stream
-            workbook.write(response.getOutputStream());
-            workbook.dispose(); // Clean up temporary files
-        } catch (IOException e) {
-            throw new FormExportException("Error creating Excel workbook");
-        }
+        // Convert JSON string to List<Map<String, Object>>
+        formDataResponse.setJsonData(readStoredJsonData(data));
+        return formDataResponse;
     }
 
-    private FormData validateFormData(FormTemplate formTemplate, List<Map<String, Object>> jsonData) {
-        // Get and validate the JSON schema (field definitions)
-        String jsonSchemaString = formTemplate.getJsonSchema();
-        if (jsonSchemaString == null || jsonSchemaString.trim().isEmpty()) {
-            throw new IllegalArgumentException("JSON schema is null or empty for form template with id: " + formTemplate.getId());
-        }
-
+    private List<Map<String, Object>> readStoredJsonData(FormData data) {
+        List<Map<String, Object>> jsonDataList = new ArrayList<>();
         try {
-            // Parse the schema as a JSONArray
-            JSONArray schemaArray = new JSONArray(jsonSchemaString);
-            JSONArray dataArray = new JSONArray(objectMapper.writeValueAsString(jsonData)); // Ensure proper JSON array
-
-            // Check if the number of items matches
-            if (schemaArray.length() != dataArray.length()) {
-                throw new IllegalArgumentException("Form data length (" + dataArray.length() + ") does not match template length (" + schemaArray.length() + ")");
-            }
-
-            // Validate each item in jsonData against the corresponding schema item
-            FormData formData = new FormData();
-            for (int i = 0; i < schemaArray.length(); i++) {
-                JSONObject schemaItem = schemaArray.getJSONObject(i);
-                JSONObject dataItem = dataArray.getJSONObject(i);
-
-                // Check required fields
-                if (!dataItem.has("label") || !dataItem.has("type") || !dataItem.has("key") || !dataItem.has("value")) {
-                    throw new IllegalArgumentException("Data at index " + i + " missing required fields (label, type, key, value)");
-                }
-
-                // Check field values
-                if (!schemaItem.getString("label").equals(dataItem.getString("label"))) {
-                    throw new IllegalArgumentException("Data at index " + i + ": label mismatch, expected '" + schemaItem.getString("label") + "', got '" + dataItem.getString("label") + "'");
-                }
-                if (!schemaItem.getString("type").equals(dataItem.getString("type"))) {
-                    throw new IllegalArgumentException("Data at index " + i + ": type mismatch, expected '" + schemaItem.getString("type") + "', got '" + dataItem.getString("type") + "'");
-                }
-                if (!schemaItem.getString("key").equals(dataItem.getString("key"))) {
-                    throw new IllegalArgumentException("Data at index " + i + ": key mismatch, expected '" + schemaItem.getString("key") + "', got '" + dataItem.getString("key") + "'");
-                }
-
-                // Check required field
-                if (schemaItem.has("required") && schemaItem.getBoolean("required") && dataItem.isNull("value")) {
-                    throw new IllegalArgumentException("Data at index " + i + ": value is required for key '" + schemaItem.getString("key") + "'");
-                }
-
-                // Validate value based on type
-                String type = schemaItem.getString("type").toLowerCase();
-                boolean required = schemaItem.getBoolean("required");
-                Object value = dataItem.get("value");
-                switch (type) {
-                    case "text":
-                    case "textarea":
-                        if (required && !(value instanceof String)) {
-                            throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a string");
-                        }
-                        break;
-                    case "number":
-                        if (required && !(value instanceof Number)) {
-                            throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a number");
-                        }
-                        break;
-                    case "dropdown":
-                        if ( required && !(value instanceof String)) {
-                            throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a string");
-                        }
-                        if (schemaItem.has("options")) {
-                            JSONArray options = schemaItem.getJSONArray("options");
-                            Set<String> validOptions = new HashSet<>();
-                            for (int j = 0; j < options.length(); j++) {
-                                validOptions.add(options.getString(j));
-                            }
-                            if (!validOptions.contains(value)) {
-                                throw new IllegalArgumentException("Data at index " + i + ": value '" + value + "' for key '" + schemaItem.getString("key") + "' is not a valid option");
-                            }
-                        }
-                        break;
-                    case "date":
-                        if (value != null) {
-                            try {
-                                LocalDate.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE);
-                            } catch (Exception e) {
-                                throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a valid date (YYYY-MM-DD)");
-                            }
-                        }
-                        break;
-                    case "time":
-                        if (value != null) {
-                            try {
-                                LocalTime.parse((String) value, DateTimeFormatter.ISO_LOCAL_TIME);
-                            } catch (Exception e) {
-                                throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a valid time (HH:MM:SS)");
-                            }
-                        }
-                        break;
-                    case "datetime":
-                        if (value != null) {
-                            try {
-                                LocalDateTime.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                            } catch (Exception e) {
-                                throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a valid datetime (YYYY-MM-DDTHH:MM:SS)");
-                            }
-                        }
-                        break;
-                    case "email":
-                        if (!(value instanceof String)) {
-                            throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a string");
-                        }
-                        if (value != null && !((String) value).matches("^[A-Za-z0-9+_.-]+@(.+)$")) {
-                            throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a valid email address");
-                        }
-                        break;
-                    case "checkbox":
-                        if (value != null && !(value instanceof Boolean)) {
-                            throw new IllegalArgumentException("Data at index " + i + ": value for key '" + schemaItem.getString("key") + "' must be a boolean");
-                        }
-                        break;
-                    default:
-                        throw new IllegalArgumentException("Schema at index " + i + ": unsupported type '" + type + "'");
-                }
-
-                // Check options field if present
-                if (schemaItem.has("options") && dataItem.has("options")) {
-                    JSONArray schemaOptions = schemaItem.getJSONArray("options");
-                    JSONArray dataOptions = dataItem.getJSONArray("options");
-                    if (schemaOptions.length() != dataOptions.length()) {
-                        throw new IllegalArgumentException("Data at index " + i + ": options length mismatch for key '" + schemaItem.getString("key") + "'");
-                    }
-                    for (int j = 0; j < schemaOptions.length(); j++) {
-                        if (!schemaOptions.getString(j).equals(dataOptions.getString(j))) {
-                            throw new IllegalArgumentException("Data at index " + i + ": options mismatch for key '" + schemaItem.getString("key") + "'");
-                        }
-                    }
-                }
+            if (data.getJsonData() != null && !data.getJsonData().trim().isEmpty()) {
+                // Parse the stored JSON string using ObjectMapper to handle any format
+                jsonDataList = objectMapper.readValue(data.getJsonData(), new TypeReference<List<Map<String, Object>>>() {});
             }
-
-            // Store as a properly formatted JSON string
-            formData.setJsonData(objectMapper.writeValueAsString(jsonData));
-            return formData;
-
-        } catch (JSONException e) {
-            throw new IllegalArgumentException("Invalid JSON schema for form template with id: " + formTemplate.getId() + ": " + e.getMessage());
+            return jsonDataList;
         } catch (JsonProcessingException e) {
-            throw new IllegalArgumentException("Error serializing form data: " + e.getMessage());
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Error processing form data: " + e.getMessage());
+            throw new IllegalArgumentException("Error parsing FormData with id: " + data.getId() + ": " + e.getMessage());
         }
     }
 
-    private String extractEmailFromToken(Authentication authentication) {
-        Object principal = authentication.getPrincipal();
-        if (principal instanceof UserDetails) {
-            String email = ((UserDetails) principal).getUsername();
-            return email;
+    // Expects limit + 1 rows; the extra row only signals that another page exists
+    private CursorPageResponse<FormDataResponse> toFormDataPage(List<FormData> formData, int limit) {
+        List<FormDataResponse> formDataResponses = new ArrayList<>();
+        for (FormData data : formData.subList(0, Math.min(limit, formData.size()))) {
+            formDataResponses.add(toFormDataResponse(data));
+        }
+        String nextCursor = null;
+        if (formData.size() > limit) {
+            FormData last = formData.get(limit - 1);
+            nextCursor = new PageCursor(last.getCreatedAt(), last.getId()).encode();
         }
-        throw new IllegalStateException("Unable to extract email from token");
+        return new CursorPageResponse<>(formDataResponses, nextCursor);
     }
 
-    private void sendResponseEmail(String to, List<Map<String, Object>> formData, String formName) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject("Form Response Submission - " + formName);
-        message.setText(buildEmailBody(formData, formName));
-        mailSender.send(message);
+    private void validateLimit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be greater than 0");
+        }
+        // One row past the page is fetched, so limit + 1 must not overflow whatever max-limit is set to
+        if (limit > maxLimit || limit == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Limit must not be greater than " + Math.min(maxLimit, Integer.MAX_VALUE - 1));
+        }
     }
 
+    private ValidatedFormData readFormData(CompiledFormSchema schema, InputStream body) {
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            return FormDataReader.readSubmission(schema, parser);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid form data: " + e.getMessage());
+        } catch (IllegalArgumentException e) {
+            formMetrics.validationFailed(e);
+            throw e;
+        }
+    }
 
-    private String buildEmailBody(List<Map<String, Object>> formData, String formName) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        DateTimeFormatter datetimeFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-
-        StringBuilder body = new StringBuilder();
-        body.append("Thank you for submitting the form: ").append(formName).append("\n\n");
-        body.append("Your responses:\n");
-        for (Map<String, Object> field : formData) {
-            String label = (String) field.get("label");
-            Object value = field.get("value");
-
-            if(field.get("type").equals("date")){
-                if (value instanceof String) {
-                    LocalDate date = LocalDate.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE);
-                    value = date.format(dateFormatter);
-                }
-            }
-
-            else if(field.get("type").equals("datetime")){
-                if (value instanceof String) {
-                    LocalDateTime datetime = LocalDateTime.parse((String) value, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
-                    value = datetime.format(datetimeFormatter);
-                }
-            }
-
-
-            body.append(label).append(": ").append(value != null ? value.toString() : "N/A").append("\n");
+    private AuthenticatedUser currentUser(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
         }
-        body.append("\nSubmitted on: ").append(LocalDateTime.now().format(datetimeFormatter));
-        return body.toString();
+        throw new IllegalStateException("Unable to extract user from token");
     }
 
 
-}
\ No newline at end of file
+}
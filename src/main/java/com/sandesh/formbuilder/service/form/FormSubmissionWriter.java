@@ -0,0 +1,64 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.enums.SubmissionPhase;
+import com.sandesh.formbuilder.repository.FormDataRepository;
+import com.sandesh.formbuilder.repository.FormRepository;
+import com.sandesh.formbuilder.repository.UserRepository;
+import com.sandesh.formbuilder.service.analytics.FormAnalyticsService;
+import com.sandesh.formbuilder.service.email.EmailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+// Inserts new submissions in the caller's transaction. Template and user are unloaded references,
+// so an insert never reads either row, let alone the template's existing submissions; the rows
+// of one call go out as a single JDBC batch.
+@Component
+@RequiredArgsConstructor
+public class FormSubmissionWriter {
+
+    private final FormRepository formRepository;
+    private final FormDataRepository formDataRepository;
+    private final UserRepository userRepository;
+    private final FormAnalyticsService formAnalyticsService;
+    private final EmailService emailService;
+    private final FormMetrics formMetrics;
+
+    // Returns the new rows in the order of the submissions
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<FormData> write(List<NewSubmission> submissions) {
+        List<FormData> formDataList = new ArrayList<>(submissions.size());
+        // Templates in id order, so transactions spanning several templates take their stat locks in the same order
+        Map<UUID, List<NewSubmission>> byTemplate = new TreeMap<>();
+        for (NewSubmission submission : submissions) {
+            UUID templateId = submission.schema().getTemplateId();
+            FormData formData = new FormData();
+            formData.setJsonData(submission.formData().json());
+            formData.setFormTemplate(formRepository.getReferenceById(templateId));
+            formData.setUser(userRepository.getReferenceById(submission.userId()));
+            formDataList.add(formData);
+            byTemplate.computeIfAbsent(templateId, id -> new ArrayList<>()).add(submission);
+        }
+        formDataRepository.saveAll(formDataList);
+
+        byTemplate.forEach((templateId, templateSubmissions) -> formAnalyticsService.recordSubmissions(
+                templateSubmissions.get(0).schema(),
+                templateSubmissions.stream().map(submission -> submission.formData().jsonData()).toList()));
+
+        for (NewSubmission submission : submissions) {
+            if (submission.receiptEmail() != null) {
+                formMetrics.time(SubmissionPhase.EMAIL, () -> emailService.queueFormResponseEmail(submission.receiptEmail(),
+                        submission.formData().jsonData(), submission.schema().getTemplateName()));
+            }
+        }
+        return formDataList;
+    }
+}
@@ -0,0 +1,10 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.ValidatedFormData;
+
+import java.util.UUID;
+
+// A validated submission ready to insert; receiptEmail is null when no receipt was asked for
+public record NewSubmission(CompiledFormSchema schema, UUID userId, ValidatedFormData formData, String receiptEmail) {
+}
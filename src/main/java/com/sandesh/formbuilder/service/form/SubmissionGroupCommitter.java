@@ -0,0 +1,206 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Optional ingestion mode for bursts of single submissions (form.ingest.group-commit.enabled).
+// Request threads validate, enqueue and wait; one writer thread takes whatever is queued, up to
+// max-batch-size or max-linger after the first record, and inserts it in one transaction, so a
+// burst pays one commit per batch instead of one per submission. A full queue is a fast 503.
+@Slf4j
+@Component
+public class SubmissionGroupCommitter {
+
+    private final FormSubmissionWriter formSubmissionWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Duration maxLinger;
+    private final Duration offerTimeout;
+    private final Duration ackTimeout;
+    private final BlockingQueue<PendingSubmission> queue;
+    private final DistributionSummary batchSizes;
+    private final Timer commitTimer;
+    private final Counter rejected;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public SubmissionGroupCommitter(FormSubmissionWriter formSubmissionWriter,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${form.ingest.group-commit.enabled:false}") boolean enabled,
+                                    @Value("${form.ingest.group-commit.max-batch-size:200}") int maxBatchSize,
+                                    @Value("${form.ingest.group-commit.max-linger:5ms}") Duration maxLinger,
+                                    @Value("${form.ingest.group-commit.queue-capacity:10000}") int queueCapacity,
+                                    @Value("${form.ingest.group-commit.offer-timeout:50ms}") Duration offerTimeout,
+                                    @Value("${form.ingest.group-commit.ack-timeout:30s}") Duration ackTimeout) {
+        this.formSubmissionWriter = formSubmissionWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxLinger = maxLinger;
+        this.offerTimeout = offerTimeout;
+        this.ackTimeout = ackTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.batchSizes = DistributionSummary.builder("form.ingest.batch.size")
+                .description("Submissions written per group commit")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("form.ingest.commit")
+                .description("Time to insert and commit one group")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("form.ingest.rejected")
+                .description("Submissions turned away because the ingestion queue was full")
+                .register(meterRegistry);
+        Gauge.builder("form.ingest.queue.depth", queue, BlockingQueue::size)
+                .description("Submissions waiting for the group-commit writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = Thread.ofPlatform().name("submission-group-commit").daemon().start(this::run);
+    }
+
+    // Stops taking new submissions and writes out whatever is already queued
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(ackTimeout.toMillis());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Blocks until the group holding this submission has committed, and returns its row. A submission
+    // still queued at ack-timeout is withdrawn, so a client retrying it can't save it twice; one already
+    // in a group waits for that group's commit instead.
+    public FormData submit(NewSubmission submission) {
+        PendingSubmission pending = new PendingSubmission(submission, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pending, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new ServerBusyException("Too many submissions in progress, please retry shortly");
+            }
+            return pending.result().get(ackTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not save submission: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(pending)) {
+                rejected.increment();
+                throw new ServerBusyException("Too many submissions in progress, please retry shortly");
+            }
+            return awaitCommit(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the submission to be saved");
+        }
+    }
+
+    private FormData awaitCommit(PendingSubmission pending) {
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Could not save submission: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private void run() {
+        List<PendingSubmission> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingSubmission first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLinger.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingSubmission next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                batchSizes.record(batch.size());
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Callers past their ack timeout wait on these without a limit
+                IllegalStateException stopped = new IllegalStateException("Group commit writer stopped");
+                batch.forEach(pending -> pending.result().completeExceptionally(stopped));
+                return;
+            } catch (RuntimeException e) {
+                log.error("Group commit writer failed", e);
+                batch.forEach(pending -> pending.result().completeExceptionally(e));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<PendingSubmission> batch) {
+        List<NewSubmission> submissions = batch.stream().map(PendingSubmission::submission).toList();
+        try {
+            List<FormData> saved = commitTimer.record(() -> transactionTemplate.execute(status -> formSubmissionWriter.write(submissions)));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                batch.get(0).result().completeExceptionally(e);
+                return;
+            }
+            // One bad record (e.g. its template was just deleted) rolls back the whole group;
+            // write each on its own so only that record fails
+            for (PendingSubmission pending : batch) {
+                commit(List.of(pending));
+            }
+        }
+    }
+
+    private record PendingSubmission(NewSubmission submission, CompletableFuture<FormData> result) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.sandesh.formbuilder.util;
+
+// Reads an Accept-Encoding header (RFC 9110 section 12.5.3). A coding is acceptable when its qvalue
+// is above 0; one the header does not name takes the qvalue of "*", and is not acceptable without it.
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {
+    }
+
+    public static boolean acceptsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+        double gzip = -1;
+        double any = -1;
+        for (String element : header.split(",")) {
+            int semicolon = element.indexOf(';');
+            String coding = (semicolon < 0 ? element : element.substring(0, semicolon)).trim();
+            double q = semicolon < 0 ? 1 : qvalue(element.substring(semicolon + 1));
+            // x-gzip is the same coding (RFC 9110 section 8.4.1.3)
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                gzip = Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = Math.max(any, q);
+            }
+        }
+        return (gzip >= 0 ? gzip : any) > 0;
+    }
+
+    // The q parameter's weight, 1 without one; a malformed weight counts as 0 so the coding is not used
+    private static double qvalue(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals < 0 || !parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                continue;
+            }
+            String weight = parameter.substring(equals + 1).trim();
+            if (!weight.matches("0(\\.\\d{0,3})?|1(\\.0{0,3})?")) {
+                return 0;
+            }
+            return Double.parseDouble(weight);
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.sandesh.formbuilder.util;
+
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// At most maxConcurrent callers inside at once. Others wait up to maxWait for a permit and are
+// then turned away with a 503, so a flood of cheap (virtual) threads queues here, in bounded
+// numbers, rather than all piling up on the connection pool.
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final Duration maxWait;
+    private final Semaphore permits;
+    private final Counter rejected;
+
+    public Bulkhead(String name, int maxConcurrent, Duration maxWait, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWait = maxWait;
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("form.bulkhead.active", permits, semaphore -> maxConcurrent - semaphore.availablePermits())
+                .description("Requests currently holding a permit")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("form.bulkhead.waiting", permits, Semaphore::getQueueLength)
+                .description("Requests waiting for a permit")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("form.bulkhead.limit", () -> maxConcurrent)
+                .description("Permits in the bulkhead")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("form.bulkhead.rejected")
+                .description("Requests turned away because no permit became free in time")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    // Every successful call must be paired with release()
+    public void acquire() {
+        try {
+            if (!permits.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new ServerBusyException("Too many " + name + " requests in progress, please retry shortly");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + name + " permit");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+}
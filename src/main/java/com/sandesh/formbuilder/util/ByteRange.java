@@ -0,0 +1,50 @@
+package com.sandesh.formbuilder.util;
+
+// A single byte range from a Range header (RFC 9110 section 14.1.2), end inclusive. Multi-range
+// and malformed headers are ignored and the whole representation is served, as the RFC allows.
+public record ByteRange(long start, long end) {
+
+    public static final ByteRange UNSATISFIABLE = new ByteRange(-1, -1);
+
+    // Returns null when the whole file should be served
+    public static ByteRange parse(String header, long size) {
+        if (header == null || !header.regionMatches(true, 0, "bytes=", 0, 6)) {
+            return null;
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0 || spec.indexOf(',') >= 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                // bytes=-n: the last n bytes
+                long suffixLength = Long.parseLong(spec.substring(1).trim());
+                if (suffixLength <= 0 || size == 0) {
+                    return UNSATISFIABLE;
+                }
+                return new ByteRange(Math.max(0, size - suffixLength), size - 1);
+            }
+            long start = Long.parseLong(spec.substring(0, dash).trim());
+            String last = spec.substring(dash + 1).trim();
+            long end = last.isEmpty() ? size - 1 : Long.parseLong(last);
+            if (start >= size) {
+                return UNSATISFIABLE;
+            }
+            if (end < start) {
+                return null;
+            }
+            return new ByteRange(start, Math.min(end, size - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long length() {
+        return end - start + 1;
+    }
+
+    public String contentRange(long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+}
@@ -3,66 +3,115 @@ package com.sandesh.formbuilder.util;
 
 
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Component
 public class JwtUtil {
 
+    // Identity carried in the token so requests can be authenticated without loading the user
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLES_CLAIM = "roles";
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.token-expiration}")
     private long jwtTokenValidity;
 
+    // Recently verified tokens, so a client sending the same token again skips signature checking
+    // and claim parsing. 0 turns the cache off.
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheSize;
+
     private Key secretKey;
+    private JwtParser jwtParser;
+    private Cache<ByteBuffer, VerifiedToken> verifiedTokens;
 
     @PostConstruct
     public void init() {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        // Immutable and thread-safe, so one parser serves every request
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
+        if (verifiedCacheSize > 0) {
+            // Each entry expires with its token, so a cached token is never accepted past its exp
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .expireAfter(Expiry.creating((ByteBuffer key, VerifiedToken token) ->
+                            Duration.ofMillis(token.expiresAt() - System.currentTimeMillis())))
+                    .build();
+        }
     }
 
-    public String getUsernameFromToken(String token) {
-        return getClaimFromToken(token, Claims::getSubject);
-    }
-
-    public Date getExpirationDateFromToken(String token) {
-        return getClaimFromToken(token, Claims::getExpiration);
+    private Claims getAllClaimsFromToken(String token) {
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
-    public <T> T getClaimFromToken(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = getAllClaimsFromToken(token);
-        return claimsResolver.apply(claims);
+    public String generateToken(AuthenticatedUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(USER_ID_CLAIM, user.getId().toString());
+        claims.put(ROLES_CLAIM, user.getRoles());
+        return doGenerateToken(claims, user.getUsername());
     }
 
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies signature and expiry, then builds the principal from the claims. Tokens issued
+    // before the identity claims existed are rejected, so their holders log in again.
+    public AuthenticatedUser getAuthenticatedUser(String token) {
+        if (verifiedTokens == null) {
+            return verify(token).user();
+        }
+        // Keyed by a digest so the cache never holds usable bearer tokens
+        ByteBuffer key = ByteBuffer.wrap(sha256(token));
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified == null) {
+            verified = verify(token);
+            verifiedTokens.put(key, verified);
+        }
+        return verified.user();
     }
 
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    private VerifiedToken verify(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (claims.getSubject() == null || userId == null || roles == null || claims.getExpiration() == null) {
+            throw new JwtException("Token does not carry the user's identity");
+        }
+        AuthenticatedUser user = new AuthenticatedUser(UUID.fromString(userId), claims.getSubject(), null,
+                roles.stream().map(String::valueOf).toList());
+        return new VerifiedToken(user, claims.getExpiration().getTime());
     }
 
-    public String generateToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        return doGenerateToken(claims, userDetails.getUsername());
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
     private String doGenerateToken(Map<String, Object> claims, String subject) {
@@ -75,8 +124,6 @@ public class JwtUtil {
                 .compact();
     }
 
-    public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = getUsernameFromToken(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+    private record VerifiedToken(AuthenticatedUser user, long expiresAt) {
     }
 }
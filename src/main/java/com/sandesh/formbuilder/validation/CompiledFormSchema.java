@@ -0,0 +1,86 @@
+package com.sandesh.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.entity.FormTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+// Immutable, pre-parsed view of a FormTemplate's jsonSchema. Built once per template
+// and shared across requests, so it must never be mutated after compile().
+public final class CompiledFormSchema {
+
+    private final UUID templateId;
+    private final String templateName;
+    private final List<FieldValidator> fields;
+    private final Map<String, Integer> keyIndex;
+
+    private CompiledFormSchema(UUID templateId, String templateName, List<FieldValidator> fields) {
+        this.templateId = templateId;
+        this.templateName = templateName;
+        this.fields = fields;
+
+        Map<String, Integer> index = new HashMap<>();
+        for (FieldValidator field : fields) {
+            index.putIfAbsent(field.getKey(), field.getIndex());
+        }
+        this.keyIndex = Collections.unmodifiableMap(index);
+    }
+
+    public static CompiledFormSchema compile(FormTemplate formTemplate, ObjectMapper objectMapper) {
+        String jsonSchemaString = formTemplate.getJsonSchema();
+        if (jsonSchemaString == null || jsonSchemaString.trim().isEmpty()) {
+            throw new IllegalArgumentException("JSON schema is null or empty for form template with id: " + formTemplate.getId());
+        }
+
+        List<Map<String, Object>> schema;
+        try {
+            schema = objectMapper.readValue(jsonSchemaString, new TypeReference<List<Map<String, Object>>>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON schema for form template with id: " + formTemplate.getId() + ": " + e.getMessage());
+        }
+
+        List<FieldValidator> fields = new ArrayList<>(schema.size());
+        for (int i = 0; i < schema.size(); i++) {
+            fields.add(FieldValidator.of(i, schema.get(i)));
+        }
+        return new CompiledFormSchema(formTemplate.getId(), formTemplate.getName(), List.copyOf(fields));
+    }
+
+    public UUID getTemplateId() {
+        return templateId;
+    }
+
+    public String getTemplateName() {
+        return templateName;
+    }
+
+    public List<FieldValidator> getFields() {
+        return fields;
+    }
+
+    public int size() {
+        return fields.size();
+    }
+
+    public FieldValidator getField(int index) {
+        return fields.get(index);
+    }
+
+    // Returns the schema position of the given key, or -1 if the template has no such field
+    public int indexOf(String key) {
+        Integer index = keyIndex.get(key);
+        return index == null ? -1 : index;
+    }
+
+    public FieldValidator getField(String key) {
+        int index = indexOf(key);
+        return index < 0 ? null : fields.get(index);
+    }
+}
@@ -0,0 +1,341 @@
+package com.sandesh.formbuilder.validation;
+
+import com.sandesh.formbuilder.enums.FormFieldType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// A single field of a compiled form schema. Everything that can be derived from the
+// template (type, option set, patterns) is resolved once when the schema is compiled.
+public abstract class FieldValidator {
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
+
+    private final int index;
+    private final String label;
+    private final String type;
+    private final String key;
+    private final boolean required;
+    private final List<String> options;
+    private final FormFieldType fieldType;
+
+    protected FieldValidator(int index, String label, String type, String key, boolean required,
+                             List<String> options, FormFieldType fieldType) {
+        this.index = index;
+        this.label = label;
+        this.type = type;
+        this.key = key;
+        this.required = required;
+        this.options = options;
+        this.fieldType = fieldType;
+    }
+
+    public static FieldValidator of(int index, Map<String, Object> field) {
+        String label = asString(field.get("label"));
+        String type = asString(field.get("type"));
+        String key = asString(field.get("key"));
+        if (label == null || type == null || key == null) {
+            throw new IllegalArgumentException("Schema at index " + index + ": label, type and key are required");
+        }
+        boolean required = Boolean.TRUE.equals(field.get("required"));
+        List<String> options = null;
+        if (field.get("options") instanceof List<?> rawOptions) {
+            options = rawOptions.stream().map(String::valueOf).toList();
+        }
+
+        FormFieldType fieldType;
+        try {
+            fieldType = FormFieldType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Schema at index " + index + ": unsupported type '" + type.toLowerCase() + "'");
+        }
+
+        return switch (fieldType) {
+            case TEXT, TEXTAREA -> new TextField(index, label, type, key, required, options, fieldType);
+            case NUMBER -> new NumberField(index, label, type, key, required, options, fieldType);
+            case DROPDOWN -> new DropdownField(index, label, type, key, required, options, fieldType);
+            case DATE -> new TemporalField(index, label, type, key, required, options, fieldType,
+                    DateTimeFormatter.ISO_LOCAL_DATE, "must be a valid date (YYYY-MM-DD)");
+            case TIME -> new TemporalField(index, label, type, key, required, options, fieldType,
+                    DateTimeFormatter.ISO_LOCAL_TIME, "must be a valid time (HH:MM:SS)");
+            case DATETIME -> new TemporalField(index, label, type, key, required, options, fieldType,
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME, "must be a valid datetime (YYYY-MM-DDTHH:MM:SS)");
+            case EMAIL -> new EmailField(index, label, type, key, required, options, fieldType);
+            case CHECKBOX -> new CheckboxField(index, label, type, key, required, options, fieldType);
+        };
+    }
+
+    public void validateLabel(String dataLabel) {
+        if (!label.equals(dataLabel)) {
+            throw new IllegalArgumentException("Data at index " + index + ": label mismatch, expected '" + label + "', got '" + dataLabel + "'");
+        }
+    }
+
+    public void validateType(String dataType) {
+        if (!type.equals(dataType)) {
+            throw new IllegalArgumentException("Data at index " + index + ": type mismatch, expected '" + type + "', got '" + dataType + "'");
+        }
+    }
+
+    public void validateKey(String dataKey) {
+        if (!key.equals(dataKey)) {
+            throw new IllegalArgumentException("Data at index " + index + ": key mismatch, expected '" + key + "', got '" + dataKey + "'");
+        }
+    }
+
+    public void validateOptions(List<String> dataOptions) {
+        if (options == null) {
+            return;
+        }
+        if (options.size() != dataOptions.size()) {
+            throw new IllegalArgumentException("Data at index " + index + ": options length mismatch for key '" + key + "'");
+        }
+        for (int j = 0; j < options.size(); j++) {
+            if (!options.get(j).equals(dataOptions.get(j))) {
+                throw new IllegalArgumentException("Data at index " + index + ": options mismatch for key '" + key + "'");
+            }
+        }
+    }
+
+    public void validateValue(Object value) {
+        if (value == null) {
+            if (required) {
+                throw new IllegalArgumentException("Data at index " + index + ": value is required for key '" + key + "'");
+            }
+            return;
+        }
+        checkSubmittedValue(value);
+    }
+
+    // Called with non-null values only
+    protected abstract void checkValue(Object value);
+
+    // Submitted values get the full check unless a field type is lenient when not required
+    protected void checkSubmittedValue(Object value) {
+        checkValue(value);
+    }
+
+    // Converts a query-string filter operand into the JSON value stored for this field,
+    // applying the same checks as a submitted value
+    public Object parseFilterValue(String text) {
+        Object value = toFilterValue(text);
+        try {
+            checkValue(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid filter value '" + text + "' for " + type + " field '" + key + "'");
+        }
+        return value;
+    }
+
+    protected Object toFilterValue(String text) {
+        return text;
+    }
+
+    // Whether values of this field can be range-filtered (gt, gte, lt, lte)
+    public boolean isOrdered() {
+        return false;
+    }
+
+    protected IllegalArgumentException invalid(String reason) {
+        return new IllegalArgumentException("Data at index " + index + ": value for key '" + key + "' " + reason);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    public List<String> getOptions() {
+        return options;
+    }
+
+    public FormFieldType getFieldType() {
+        return fieldType;
+    }
+
+    private static String asString(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    static final class TextField extends FieldValidator {
+        TextField(int index, String label, String type, String key, boolean required, List<String> options, FormFieldType fieldType) {
+            super(index, label, type, key, required, options, fieldType);
+        }
+
+        @Override
+        protected void checkValue(Object value) {
+            if (!(value instanceof String)) {
+                throw invalid("must be a string");
+            }
+        }
+
+        // Values of any type have always been accepted for fields that are not required
+        @Override
+        protected void checkSubmittedValue(Object value) {
+            if (isRequired()) {
+                checkValue(value);
+            }
+        }
+    }
+
+    static final class NumberField extends FieldValidator {
+        NumberField(int index, String label, String type, String key, boolean required, List<String> options, FormFieldType fieldType) {
+            super(index, label, type, key, required, options, fieldType);
+        }
+
+        @Override
+        protected void checkValue(Object value) {
+            if (!(value instanceof Number)) {
+                throw invalid("must be a number");
+            }
+        }
+
+        @Override
+        protected void checkSubmittedValue(Object value) {
+            if (isRequired()) {
+                checkValue(value);
+            }
+        }
+
+        @Override
+        protected Object toFilterValue(String text) {
+            try {
+                return new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                return text;
+            }
+        }
+
+        @Override
+        public boolean isOrdered() {
+            return true;
+        }
+    }
+
+    static final class DropdownField extends FieldValidator {
+        private final Set<String> validOptions;
+
+        DropdownField(int index, String label, String type, String key, boolean required, List<String> options, FormFieldType fieldType) {
+            super(index, label, type, key, required, options, fieldType);
+            this.validOptions = options == null ? null : Set.copyOf(options);
+        }
+
+        @Override
+        protected void checkValue(Object value) {
+            if (!(value instanceof String)) {
+                throw invalid("must be a string");
+            }
+            if (validOptions != null && !validOptions.contains(value)) {
+                throw notAnOption(value);
+            }
+        }
+
+        // Only the option set applies to a non-string value of a field that is not required
+        @Override
+        protected void checkSubmittedValue(Object value) {
+            if (isRequired() || value instanceof String) {
+                checkValue(value);
+            } else if (validOptions != null) {
+                throw notAnOption(value);
+            }
+        }
+
+        private IllegalArgumentException notAnOption(Object value) {
+            return new IllegalArgumentException("Data at index " + getIndex() + ": value '" + value + "' for key '" + getKey() + "' is not a valid option");
+        }
+    }
+
+    static final class TemporalField extends FieldValidator {
+        private final DateTimeFormatter formatter;
+        private final String reason;
+
+        TemporalField(int index, String label, String type, String key, boolean required, List<String> options,
+                      FormFieldType fieldType, DateTimeFormatter formatter, String reason) {
+            super(index, label, type, key, required, options, fieldType);
+            this.formatter = formatter;
+            this.reason = reason;
+        }
+
+        @Override
+        protected void checkValue(Object value) {
+            if (!(value instanceof String text)) {
+                throw invalid(reason);
+            }
+            try {
+                switch (getFieldType()) {
+                    case DATE -> LocalDate.parse(text, formatter);
+                    case TIME -> LocalTime.parse(text, formatter);
+                    default -> LocalDateTime.parse(text, formatter);
+                }
+            } catch (DateTimeParseException e) {
+                throw invalid(reason);
+            }
+        }
+
+        @Override
+        public boolean isOrdered() {
+            return true;
+        }
+    }
+
+    static final class EmailField extends FieldValidator {
+        EmailField(int index, String label, String type, String key, boolean required, List<String> options, FormFieldType fieldType) {
+            super(index, label, type, key, required, options, fieldType);
+        }
+
+        @Override
+        protected void checkValue(Object value) {
+            if (!(value instanceof String text)) {
+                throw invalid("must be a string");
+            }
+            if (!EMAIL_PATTERN.matcher(text).matches()) {
+                throw invalid("must be a valid email address");
+            }
+        }
+    }
+
+    static final class CheckboxField extends FieldValidator {
+        CheckboxField(int index, String label, String type, String key, boolean required, List<String> options, FormFieldType fieldType) {
+            super(index, label, type, key, required, options, fieldType);
+        }
+
+        @Override
+        protected void checkValue(Object value) {
+            if (!(value instanceof Boolean)) {
+                throw invalid("must be a boolean");
+            }
+        }
+
+        @Override
+        protected Object toFilterValue(String text) {
+            return switch (text) {
+                case "true" -> Boolean.TRUE;
+                case "false" -> Boolean.FALSE;
+                default -> text;
+            };
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.sandesh.formbuilder.validation;
+
+import com.sandesh.formbuilder.enums.FilterOperator;
+
+// One "key:op:value" condition on submitted values, type-checked against the template's schema
+public record FormDataFilter(FieldValidator field, FilterOperator operator, Object value) {
+
+    public static FormDataFilter parse(CompiledFormSchema schema, String expression) {
+        // The value is everything after the second colon, so times and datetimes need no escaping
+        String[] parts = expression == null ? new String[0] : expression.split(":", 3);
+        if (parts.length != 3 || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Invalid filter '" + expression + "', expected key:op:value");
+        }
+
+        FieldValidator field = schema.getField(parts[0]);
+        if (field == null) {
+            throw new IllegalArgumentException("Invalid filter '" + expression + "': form has no field '" + parts[0] + "'");
+        }
+
+        FilterOperator operator;
+        try {
+            operator = FilterOperator.valueOf(parts[1].toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid filter '" + expression + "': unsupported operator '" + parts[1] + "'");
+        }
+        if (operator != FilterOperator.EQ && !field.isOrdered()) {
+            throw new IllegalArgumentException("Invalid filter '" + expression + "': only eq is supported for " + field.getType() + " fields");
+        }
+
+        return new FormDataFilter(field, operator, field.parseFilterValue(parts[2]));
+    }
+}
@@ -0,0 +1,203 @@
+package com.sandesh.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sandesh.formbuilder.exception.FieldValidationException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Reads a submission straight off the request token stream, validating every item
+// against the compiled schema as it arrives and writing the canonical stored JSON
+// ({label, type, key, value, options?} per item) in the same pass.
+public final class FormDataReader {
+
+    private FormDataReader() {
+    }
+
+    // Reads a {"jsonData": [...]} request body; any other top-level properties are ignored
+    public static ValidatedFormData readSubmission(CompiledFormSchema schema, JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == null) {
+            throw new IllegalArgumentException("Request body is missing");
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Request body must be a JSON object with a jsonData array");
+        }
+
+        ValidatedFormData result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("jsonData".equals(name)) {
+                result = readJsonData(schema, parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (result == null) {
+            throw new IllegalArgumentException("Form data is required");
+        }
+        return result;
+    }
+
+    // Reads the jsonData array; the parser must be positioned on (or just before) its START_ARRAY
+    public static ValidatedFormData readJsonData(CompiledFormSchema schema, JsonParser parser) throws IOException {
+        JsonToken token = parser.currentToken() != null ? parser.currentToken() : parser.nextToken();
+        if (token == JsonToken.VALUE_NULL) {
+            throw new IllegalArgumentException("Form data is required");
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("jsonData must be an array");
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>(schema.size());
+        StringWriter out = new StringWriter(64 * schema.size());
+        // The parser must come from the application ObjectMapper so nested values can be (de)serialized
+        try (JsonGenerator generator = parser.getCodec().getFactory().createGenerator(out)) {
+            generator.setCodec(parser.getCodec());
+            generator.writeStartArray();
+
+            int index = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (index >= schema.size()) {
+                    int length = index + 1 + skipRemaining(parser);
+                    throw new IllegalArgumentException("Form data length (" + length + ") does not match template length (" + schema.size() + ")");
+                }
+                FieldValidator field = schema.getField(index);
+                try {
+                    items.add(readItem(field, parser, generator));
+                } catch (IllegalArgumentException e) {
+                    throw new FieldValidationException(field.getFieldType(), e.getMessage());
+                }
+                index++;
+            }
+            if (index != schema.size()) {
+                throw new IllegalArgumentException("Form data length (" + index + ") does not match template length (" + schema.size() + ")");
+            }
+
+            generator.writeEndArray();
+        }
+        return new ValidatedFormData(out.toString(), items);
+    }
+
+    private static Map<String, Object> readItem(FieldValidator field, JsonParser parser, JsonGenerator generator) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Data at index " + field.getIndex() + " missing required fields (label, type, key, value)");
+        }
+
+        String label = null;
+        String type = null;
+        String key = null;
+        Object value = null;
+        boolean hasValue = false;
+        List<String> options = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            switch (name) {
+                case "label" -> {
+                    label = scalarText(parser, valueToken);
+                    field.validateLabel(label);
+                }
+                case "type" -> {
+                    type = scalarText(parser, valueToken);
+                    field.validateType(type);
+                }
+                case "key" -> {
+                    key = scalarText(parser, valueToken);
+                    field.validateKey(key);
+                }
+                case "value" -> {
+                    value = readValue(parser, valueToken);
+                    hasValue = true;
+                    field.validateValue(value);
+                }
+                case "options" -> {
+                    options = readOptions(parser, valueToken);
+                    if (options != null) {
+                        field.validateOptions(options);
+                    }
+                }
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (label == null || type == null || key == null || !hasValue) {
+            throw new IllegalArgumentException("Data at index " + field.getIndex() + " missing required fields (label, type, key, value)");
+        }
+
+        Map<String, Object> item = new LinkedHashMap<>(8);
+        item.put("label", label);
+        item.put("type", type);
+        item.put("key", key);
+        item.put("value", value);
+
+        generator.writeStartObject();
+        generator.writeStringField("label", label);
+        generator.writeStringField("type", type);
+        generator.writeStringField("key", key);
+        generator.writeFieldName("value");
+        generator.writeObject(value);
+        if (options != null) {
+            item.put("options", options);
+            generator.writeArrayFieldStart("options");
+            for (String option : options) {
+                generator.writeString(option);
+            }
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+        return item;
+    }
+
+    private static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_STRING -> parser.getText();
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> parser.getNumberValue();
+            case VALUE_TRUE -> Boolean.TRUE;
+            case VALUE_FALSE -> Boolean.FALSE;
+            case VALUE_NULL -> null;
+            default -> parser.readValueAs(Object.class);
+        };
+    }
+
+    private static String scalarText(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isStructStart()) {
+            parser.skipChildren();
+            return null;
+        }
+        return parser.getText();
+    }
+
+    private static List<String> readOptions(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> options = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            options.add(String.valueOf(readValue(parser, parser.currentToken())));
+        }
+        return options;
+    }
+
+    private static int skipRemaining(JsonParser parser) throws IOException {
+        int skipped = 0;
+        parser.skipChildren();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            skipped++;
+        }
+        return skipped;
+    }
+}
@@ -0,0 +1,9 @@
+package com.sandesh.formbuilder.validation;
+
+import java.util.List;
+import java.util.Map;
+
+// Result of reading a submission: the canonical JSON to store and the parsed items
+// (used for the response body and the receipt email)
+public record ValidatedFormData(String json, List<Map<String, Object>> jsonData) {
+}
@@ -0,0 +1,125 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+// Moves form_template.json_schema and form_data.json_data from large objects (@Lob) to jsonb.
+// Rows are copied into a staging column in small committed batches, so only those rows are
+// locked at a time; the table is locked just for the final catch-up and column swap. A trigger
+// clears the staging value of any row written meanwhile so the catch-up converts it again.
+public class V4__Convert_json_columns_to_jsonb extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            convert(connection, "form_template", "json_schema");
+            convert(connection, "form_data", "json_data");
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void convert(Connection connection, String table, String column) throws SQLException {
+        String type = columnType(connection, table, column);
+        if ("jsonb".equals(type)) {
+            return;
+        }
+        boolean largeObject = "oid".equals(type);
+        String staging = column + "_jsonb";
+        String trigger = table + "_" + column + "_jsonb_reset";
+        // A missing large object converts to NULL rather than failing the whole migration
+        String source = largeObject
+                ? "CASE WHEN EXISTS (SELECT 1 FROM pg_largeobject_metadata m WHERE m.oid = t." + column + ")"
+                + " THEN convert_from(lo_get(t." + column + "), 'UTF8')::jsonb END"
+                : "t." + column + "::jsonb";
+
+        connection.setAutoCommit(true);
+        execute(connection, "ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + staging + " JSONB");
+        execute(connection, "CREATE OR REPLACE FUNCTION " + trigger + "() RETURNS trigger LANGUAGE plpgsql AS $$"
+                + " BEGIN NEW." + staging + " := NULL; RETURN NEW; END $$");
+        execute(connection, "DROP TRIGGER IF EXISTS " + trigger + " ON " + table);
+        execute(connection, "CREATE TRIGGER " + trigger + " BEFORE INSERT OR UPDATE OF " + column
+                + " ON " + table + " FOR EACH ROW EXECUTE FUNCTION " + trigger + "()");
+
+        // Backfill in primary key order, one short transaction per batch; returns the batch's last id
+        String batch = "WITH b AS (SELECT id FROM " + table + " WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE + "),"
+                + " u AS (UPDATE " + table + " t SET " + staging + " = " + source + " FROM b WHERE t.id = b.id)"
+                + " SELECT id FROM b ORDER BY id DESC LIMIT 1";
+        UUID lastId = new UUID(0, 0);
+        try (PreparedStatement statement = connection.prepareStatement(batch)) {
+            while (lastId != null) {
+                statement.setObject(1, lastId);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    lastId = resultSet.next() ? resultSet.getObject(1, UUID.class) : null;
+                }
+            }
+        }
+
+        // Catch up on rows written during the backfill and swap the columns while writers wait
+        connection.setAutoCommit(false);
+        try {
+            execute(connection, "LOCK TABLE " + table + " IN SHARE ROW EXCLUSIVE MODE");
+            execute(connection, "UPDATE " + table + " t SET " + staging + " = " + source
+                    + " WHERE t." + column + " IS NOT NULL AND t." + staging + " IS NULL");
+            execute(connection, "DROP TRIGGER " + trigger + " ON " + table);
+            execute(connection, "DROP FUNCTION " + trigger + "()");
+            execute(connection, "ALTER TABLE " + table + " RENAME COLUMN " + column + " TO " + column + "_old");
+            execute(connection, "ALTER TABLE " + table + " RENAME COLUMN " + staging + " TO " + column);
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+
+        // Free the large objects in batches before dropping the old column
+        connection.setAutoCommit(true);
+        if (largeObject) {
+            String unlink = "UPDATE " + table + " t SET " + column + "_old = NULL"
+                    + " FROM (SELECT id, CASE WHEN EXISTS (SELECT 1 FROM pg_largeobject_metadata m WHERE m.oid = " + column + "_old)"
+                    + " THEN lo_unlink(" + column + "_old) END FROM " + table
+                    + " WHERE " + column + "_old IS NOT NULL LIMIT " + BATCH_SIZE + ") b WHERE t.id = b.id";
+            try (Statement statement = connection.createStatement()) {
+                while (statement.executeUpdate(unlink) > 0) {
+                    // keep going until every large object is released
+                }
+            }
+        }
+        execute(connection, "ALTER TABLE " + table + " DROP COLUMN " + column + "_old");
+    }
+
+    private static String columnType(Connection connection, String table, String column) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT data_type FROM information_schema.columns WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?")) {
+            statement.setString(1, table);
+            statement.setString(2, column);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    throw new IllegalStateException("Column " + table + "." + column + " not found");
+                }
+                return resultSet.getString(1);
+            }
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+-- Schema as previously generated by Hibernate (ddl-auto: update). Existing databases are
+-- baselined at this version by spring.flyway.baseline-on-migrate and skip this script.
+
+CREATE TABLE form_template (
+    id           UUID         NOT NULL,
+    name         VARCHAR(255),
+    json_schema  OID,
+    allow_edit   BOOLEAN      NOT NULL,
+    allow_delete BOOLEAN      NOT NULL,
+    created_at   TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE role (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id       UUID         NOT NULL,
+    email    VARCHAR(255) UNIQUE,
+    username VARCHAR(255),
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users_roles (
+    user_id UUID   NOT NULL,
+    role_id BIGINT NOT NULL,
+    PRIMARY KEY (role_id, user_id),
+    CONSTRAINT fk_users_roles_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_users_roles_role FOREIGN KEY (role_id) REFERENCES role (id)
+);
+
+CREATE TABLE form_data (
+    id               UUID         NOT NULL,
+    json_data        OID,
+    form_template_id UUID         NOT NULL,
+    user_id          UUID         NOT NULL,
+    created_at       TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_form_data_form_template FOREIGN KEY (form_template_id) REFERENCES form_template (id),
+    CONSTRAINT fk_form_data_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
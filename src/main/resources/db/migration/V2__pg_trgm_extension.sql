@@ -0,0 +1,2 @@
+-- Trigram operator classes for the LOWER(name) LIKE '%...%' template search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
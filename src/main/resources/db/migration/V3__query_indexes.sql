@@ -0,0 +1,25 @@
+-- Built CONCURRENTLY so upgrading a populated database doesn't block submissions;
+-- Flyway runs a script made only of non-transactional statements outside a transaction.
+
+-- Template submissions, newest first (paged listing, keyset cursor, export, existence check)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_data_template_created
+    ON form_data (form_template_id, created_at DESC, id DESC);
+
+-- A user's own responses to a template, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_data_template_user_created
+    ON form_data (form_template_id, user_id, created_at DESC, id DESC);
+
+-- Template listing, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_template_created
+    ON form_template (created_at DESC, id DESC);
+
+-- Substring search on template name
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_template_name_trgm
+    ON form_template USING GIN (LOWER(name) gin_trgm_ops);
+
+-- Role lookup by name on registration and startup
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_role_name
+    ON role (name);
+
+-- users(email) is already covered by the unique constraint's index, which serves the
+-- per-request findByEmail lookup
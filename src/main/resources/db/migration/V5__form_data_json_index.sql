@@ -0,0 +1,3 @@
+-- Containment (@>) lookups for equality filters on submitted values
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_form_data_json_data
+    ON form_data USING GIN (json_data jsonb_path_ops);
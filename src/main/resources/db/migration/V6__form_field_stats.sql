@@ -0,0 +1,16 @@
+-- Per-field answer counts, kept up to date by the submission write paths. One row per distinct
+-- dropdown option, checkbox state or calendar day (date/datetime fields), and per bucket of two
+-- significant digits for numbers, with the sum, min and max of the values in it.
+CREATE TABLE form_field_stats (
+    form_template_id UUID         NOT NULL,
+    field_key        VARCHAR(255) NOT NULL,
+    bucket           TEXT         NOT NULL,
+    value_count      BIGINT       NOT NULL,
+    number_sum       NUMERIC,
+    number_min       NUMERIC,
+    number_max       NUMERIC,
+    -- A value was removed from this number bucket, so number_min and number_max need recomputing
+    number_stale     BOOLEAN      NOT NULL DEFAULT false,
+    PRIMARY KEY (form_template_id, field_key, bucket),
+    CONSTRAINT fk_form_field_stats_form_template FOREIGN KEY (form_template_id) REFERENCES form_template (id) ON DELETE CASCADE
+);
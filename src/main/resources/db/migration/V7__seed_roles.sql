@@ -0,0 +1,4 @@
+-- The two roles registration accepts. They used to be created on demand by every login and
+-- registration request.
+INSERT INTO role (name) VALUES ('USER'), ('ADMIN')
+ON CONFLICT (name) DO NOTHING;
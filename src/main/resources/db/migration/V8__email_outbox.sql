@@ -0,0 +1,15 @@
+-- Receipts waiting to be delivered by EmailOutboxDispatcher
+CREATE TABLE email_outbox (
+    id              UUID          NOT NULL,
+    recipient       VARCHAR(255)  NOT NULL,
+    subject         VARCHAR(255)  NOT NULL,
+    body            TEXT          NOT NULL,
+    status          VARCHAR(16)   NOT NULL CHECK (status IN ('PENDING', 'SENDING', 'FAILED')),
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6)  NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
@@ -0,0 +1,20 @@
+-- Submission writes append their per-field deltas here instead of upserting the shared counter rows
+-- in form_field_stats, so concurrent submissions to one template never wait on each other's row
+-- locks. FormAnalyticsServiceImpl.rollUpDeltas folds them into form_field_stats in the background;
+-- reads add up both tables.
+CREATE TABLE form_field_stat_deltas (
+    id               BIGINT       GENERATED ALWAYS AS IDENTITY,
+    form_template_id UUID         NOT NULL,
+    field_key        VARCHAR(255) NOT NULL,
+    bucket           TEXT         NOT NULL,
+    value_count      BIGINT       NOT NULL,
+    number_sum       NUMERIC,
+    number_min       NUMERIC,
+    number_max       NUMERIC,
+    number_removed   BOOLEAN      NOT NULL DEFAULT false,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_form_field_stat_deltas_form_template FOREIGN KEY (form_template_id) REFERENCES form_template (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_form_field_stat_deltas_template ON form_field_stat_deltas (form_template_id, id);
+
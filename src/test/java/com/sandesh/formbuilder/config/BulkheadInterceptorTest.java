@@ -0,0 +1,70 @@
+package com.sandesh.formbuilder.config;
+
+import com.sandesh.formbuilder.enums.Workload;
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import com.sandesh.formbuilder.util.Bulkhead;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Map<Workload, Bulkhead> bulkheads = Map.of(
+            Workload.GENERAL, new Bulkhead("general", 1, Duration.ZERO, meterRegistry),
+            Workload.AUTH, new Bulkhead("auth", 1, Duration.ZERO, meterRegistry),
+            Workload.SUBMISSION, new Bulkhead("submission", 1, Duration.ZERO, meterRegistry),
+            Workload.EXPORT, new Bulkhead("export", 1, Duration.ZERO, meterRegistry));
+    private final BulkheadInterceptor interceptor = new BulkheadInterceptor(bulkheads);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void workloadsHaveSeparateBudgets() {
+        MockHttpServletRequest submission = request("POST", "/api/forms/{id}/data");
+        interceptor.preHandle(submission, response, null);
+
+        assertThatThrownBy(() -> interceptor.preHandle(request("PUT", "/api/forms/data/{id}"), response, null))
+                .isInstanceOf(ServerBusyException.class);
+        // Neither an export, a listing of the same template nor a sign-in waits on submissions
+        interceptor.preHandle(request("GET", "/api/forms/{id}/data/export.csv"), response, null);
+        interceptor.preHandle(request("GET", "/api/forms/{id}/data"), response, null);
+        interceptor.preHandle(request("POST", "/api/auth/login"), response, null);
+        assertThat(meterRegistry.get("form.bulkhead.rejected").tag("bulkhead", "submission").counter().count()).isEqualTo(1);
+
+        interceptor.afterCompletion(submission, response, null, null);
+        interceptor.preHandle(request("POST", "/api/forms/{id}/data/batch"), response, null);
+    }
+
+    @Test
+    void streamedExportKeepsItsPermitUntilTheAsyncDispatchCompletes() throws Exception {
+        MockHttpServletRequest export = request("GET", "/api/forms/{id}/data/export.ndjson");
+        interceptor.preHandle(export, response, null);
+        // The controller returned a StreamingResponseBody; the first dispatch ends without afterCompletion
+        interceptor.afterConcurrentHandlingStarted(export, response, null);
+
+        assertThatThrownBy(() -> interceptor.preHandle(request("GET", "/api/forms/{id}/data/excel-sheet"), response, null))
+                .isInstanceOf(ServerBusyException.class);
+
+        export.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(export, response, null);
+        interceptor.afterCompletion(export, response, null, null);
+
+        interceptor.preHandle(request("GET", "/api/forms/{id}/data/excel-sheet"), response, null);
+        assertThat(meterRegistry.get("form.bulkhead.active").tag("bulkhead", "export").gauge().value()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package com.sandesh.formbuilder.controller;
+
+import com.sandesh.formbuilder.dto.ExportJobResponse;
+import com.sandesh.formbuilder.enums.ExportFormat;
+import com.sandesh.formbuilder.service.export.ExportJobFile;
+import com.sandesh.formbuilder.service.export.ExportJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A download cut off part way can be resumed with Range, guarded by If-Range on the job's ETag
+class ExportDownloadTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+    private static final String ETAG = "\"" + JOB_ID + "\"";
+
+    @TempDir
+    Path directory;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(directory.resolve(JOB_ID + ".csv"), "0123456789");
+        ExportJobFile exportJobFile = new ExportJobFile(file, 10, "form_responses.csv", ExportFormat.CSV.getContentType(), ETAG);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ExportController(new ExportJobService() {
+            @Override
+            public ExportJobResponse createJob(UUID templateId, ExportFormat format) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ExportJobResponse getJob(UUID jobId) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public ExportJobFile getJobFile(UUID jobId) {
+                return exportJobFile;
+            }
+        })).build();
+    }
+
+    @Test
+    void servesTheWholeFile() throws Exception {
+        mockMvc.perform(get("/api/exports/{jobId}/file", JOB_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=form_responses.csv"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().string("0123456789"));
+    }
+
+    @Test
+    void resumesFromARange() throws Exception {
+        mockMvc.perform(get("/api/exports/{jobId}/file", JOB_ID)
+                        .header(HttpHeaders.RANGE, "bytes=4-")
+                        .header(HttpHeaders.IF_RANGE, ETAG))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 4-9/10"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 6))
+                .andExpect(content().string("456789"));
+    }
+
+    @Test
+    void staleIfRangeGetsTheWholeFileAndRangesPastTheEndAre416() throws Exception {
+        mockMvc.perform(get("/api/exports/{jobId}/file", JOB_ID)
+                        .header(HttpHeaders.RANGE, "bytes=4-")
+                        .header(HttpHeaders.IF_RANGE, "\"another-job\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string("0123456789"));
+
+        mockMvc.perform(get("/api/exports/{jobId}/file", JOB_ID).header(HttpHeaders.RANGE, "bytes=10-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10"));
+    }
+}
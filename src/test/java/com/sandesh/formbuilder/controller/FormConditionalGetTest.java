@@ -0,0 +1,128 @@
+package com.sandesh.formbuilder.controller;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.util.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// GET /api/forms/{id} is a conditional GET: a client holding the current ETag gets 304 and no body,
+// anything else gets the template, and a deleted template is gone rather than served from the cache.
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "jwt.secret=a-test-secret-that-is-long-enough-for-hs512-signatures-0123456789",
+        "jwt.token-expiration=3600000",
+        "spring.mail.host=localhost",
+        "form.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class FormConditionalGetTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private UUID templateId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        templateId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Survey', CAST(? AS jsonb), true, true, now())", templateId,
+                "[{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\"}]");
+        token = jwtUtil.generateToken(new AuthenticatedUser(UUID.randomUUID(), "reader@example.com", null, List.of("USER")));
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedWithoutABody() throws Exception {
+        String etag = getTemplate()
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("private")))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("no-cache")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/forms/{id}", templateId)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void otherTagsGetTheTemplate() throws Exception {
+        String etag = getTemplate().andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        for (String ifNoneMatch : List.of("\"0123456789abcdef\"", "W/\"0123456789abcdef\"", etag.substring(0, etag.length() - 1) + "-stale\"")) {
+            mockMvc.perform(get("/api/forms/{id}", templateId)
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                            .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(containsString("\"name\":\"Survey\"")));
+        }
+    }
+
+    @Test
+    void deletedTemplateIsNotServedFromTheCache() throws Exception {
+        getTemplate().andExpect(status().isOk());
+
+        String adminToken = jwtUtil.generateToken(new AuthenticatedUser(UUID.randomUUID(), "admin@example.com", null, List.of("ADMIN")));
+        mockMvc.perform(delete("/api/forms/{id}", templateId).header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken))
+                .andExpect(status().isOk());
+
+        getTemplate().andExpect(status().isNotFound());
+    }
+
+    private ResultActions getTemplate() throws Exception {
+        return mockMvc.perform(get("/api/forms/{id}", templateId).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
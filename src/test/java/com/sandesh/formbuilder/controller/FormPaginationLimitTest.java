@@ -0,0 +1,97 @@
+package com.sandesh.formbuilder.controller;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.util.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The cursor-paged listings serve at most form.pagination.max-limit rows a page; anything outside
+// 1..max-limit, including values that do not fit in an int, is a 400 rather than a query.
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "jwt.secret=a-test-secret-that-is-long-enough-for-hs512-signatures-0123456789",
+        "jwt.token-expiration=3600000",
+        "spring.mail.host=localhost",
+        "form.email.outbox.poll-interval-ms=3600000",
+        "form.pagination.max-limit=50"
+})
+@AutoConfigureMockMvc
+class FormPaginationLimitTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void limitsUpToTheMaximumAreServed() throws Exception {
+        for (String limit : List.of("1", "50")) {
+            list("/api/forms?cursor=&limit=" + limit).andExpect(status().isOk());
+            list("/api/forms/" + UUID.randomUUID() + "/data?cursor=&limit=" + limit).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void limitsOutsideTheRangeAreRejected() throws Exception {
+        for (String limit : List.of("0", "-1", "51", String.valueOf(Integer.MAX_VALUE))) {
+            list("/api/forms?cursor=&limit=" + limit)
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.errors", contains(limit.equals("0") || limit.equals("-1")
+                            ? "Limit must be greater than 0" : "Limit must not be greater than 50")));
+            list("/api/forms/" + UUID.randomUUID() + "/data?cursor=&limit=" + limit).andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void limitsThatOverflowAnIntAreRejected() throws Exception {
+        list("/api/forms?cursor=&limit=2147483648")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors", contains("Invalid value '2147483648' for parameter 'limit'")));
+    }
+
+    private ResultActions list(String uri) throws Exception {
+        String token = jwtUtil.generateToken(new AuthenticatedUser(UUID.randomUUID(), "admin@example.com", null, List.of("ADMIN")));
+        return mockMvc.perform(get(uri).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
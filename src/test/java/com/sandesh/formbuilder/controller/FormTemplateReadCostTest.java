@@ -0,0 +1,118 @@
+package com.sandesh.formbuilder.controller;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.service.form.FormResponseCache;
+import com.sandesh.formbuilder.util.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A warm GET /api/forms/{id} must not reach PostgreSQL: the caller is authenticated from the token,
+// the response comes from FormResponseCache, and when that misses the template comes from the
+// second-level cache.
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "jwt.secret=a-test-secret-that-is-long-enough-for-hs512-signatures-0123456789",
+        "jwt.token-expiration=3600000",
+        "spring.mail.host=localhost",
+        "form.email.outbox.poll-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+class FormTemplateReadCostTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private FormResponseCache formResponseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID templateId;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        templateId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Survey', CAST(? AS jsonb), true, true, now())", templateId,
+                "[{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\"}]");
+        token = jwtUtil.generateToken(new AuthenticatedUser(UUID.randomUUID(), "reader@example.com", null, List.of("USER")));
+    }
+
+    @Test
+    void warmTemplateReadRunsNoStatements() throws Exception {
+        getTemplate();
+
+        Statistics statistics = statistics();
+        getTemplate();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        // Without the response cache the template entity is still served from the second-level cache
+        formResponseCache.evict(templateId);
+        statistics.clear();
+        getTemplate();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("form-template").getHitCount()).isEqualTo(1);
+    }
+
+    private void getTemplate() throws Exception {
+        mockMvc.perform(get("/api/forms/{id}", templateId).header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
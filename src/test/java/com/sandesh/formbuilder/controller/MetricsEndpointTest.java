@@ -0,0 +1,105 @@
+package com.sandesh.formbuilder.controller;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.util.JwtUtil;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Form operations, submission phases, rejected values and token checks must reach the Prometheus
+// endpoint, which is scraped without a token.
+@SpringBootTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "jwt.secret=a-test-secret-that-is-long-enough-for-hs512-signatures-0123456789",
+        "jwt.token-expiration=3600000",
+        "spring.mail.host=localhost",
+        "form.email.outbox.poll-interval-ms=3600000",
+        "management.endpoints.web.exposure.include=health,prometheus"
+})
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricsEndpointTest {
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void formMetricsArePublishedForPrometheus() throws Exception {
+        UUID templateId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password) VALUES (?, 'submitter@example.com', 'submitter', 'x')", userId);
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Survey', CAST(? AS jsonb), true, true, now())", templateId,
+                "[{\"label\":\"Age\",\"type\":\"number\",\"key\":\"age\",\"required\":true}]");
+        String token = jwtUtil.generateToken(new AuthenticatedUser(userId, "submitter@example.com", null, List.of("USER")));
+
+        submit(templateId, token, "42").andExpect(status().isOk());
+        submit(templateId, token, "\"forty-two\"").andExpect(status().isBadRequest());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("form_operation_seconds_bucket{class=\"com.sandesh.formbuilder.service.form.FormServiceImpl\",exception=\"none\",method=\"fillUpForm\",operation=\"fill\"")
+                .contains("form_submit_phase_seconds_count{phase=\"insert\"} 1")
+                .contains("form_validation_failures_total{type=\"number\"} 1.0")
+                .contains("form_validation_failures_total{type=\"text\"} 0.0")
+                .contains("auth_jwt_verify_seconds_count{outcome=\"valid\"} 2")
+                .contains("hikaricp_connections_active");
+    }
+
+    private ResultActions submit(UUID templateId, String token, String age) throws Exception {
+        return mockMvc.perform(post("/api/forms/{id}/data", templateId)
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"jsonData\":[{\"label\":\"Age\",\"type\":\"number\",\"key\":\"age\",\"value\":" + age + "}]}"));
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
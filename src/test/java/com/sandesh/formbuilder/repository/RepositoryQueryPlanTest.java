@@ -0,0 +1,472 @@
+package com.sandesh.formbuilder.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.util.PageCursor;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.FormDataFilter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Calls every repository method against the Flyway schema, records each statement Hibernate sends with
+// the values it bound, and EXPLAINs it with those same values. Each query must reach its rows through
+// the expected index with a condition on the index's leading columns, so a full scan of an index fails
+// just like a Seq Scan.
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.postgresql.transactional-lock=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({UserRepositoryCustomImpl.class, RepositoryQueryPlanTest.StatementCapture.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryQueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(
+            FormRepository.class, FormDataRepository.class, UserRepository.class, UserRepositoryCustom.class,
+            RoleRepository.class, EmailOutboxRepository.class, FormFieldStatRepository.class);
+
+    private static final Map<String, List<IndexAccess>> EXPECTED_PLANS = Map.ofEntries(
+            Map.entry("FormRepository.findIdsAfter", List.of(probe("form_template_pkey", "id"))),
+            Map.entry("FormRepository.findByNameWithOffsetAndLimit", List.of(probe("idx_form_template_name_trgm", "name"))),
+            Map.entry("FormRepository.findAllWithOffsetAndLimit", List.of(ordered("idx_form_template_created"))),
+            Map.entry("FormRepository.findFirstPage", List.of(ordered("idx_form_template_created"))),
+            Map.entry("FormRepository.findPageAfter", List.of(probe("idx_form_template_created", "created_at", "id"))),
+            Map.entry("FormRepository.findFirstPageByName", List.of(probe("idx_form_template_name_trgm", "name"))),
+            Map.entry("FormRepository.findPageByNameAfter", List.of(probe("idx_form_template_name_trgm", "name"))),
+            Map.entry("FormDataRepository.existsByFormTemplateId", List.of(probe("idx_form_data_template_created", "form_template_id"))),
+            Map.entry("FormDataRepository.streamByFormTemplateId", List.of(probe("idx_form_data_template_created", "form_template_id"))),
+            Map.entry("FormDataRepository.findByFormTemplateIdWithOffsetAndLimit", List.of(probe("idx_form_data_template_created", "form_template_id"))),
+            Map.entry("FormDataRepository.findByFormTemplateIdAndUserId", List.of(probe("idx_form_data_template_user_created", "form_template_id", "user_id"))),
+            Map.entry("FormDataRepository.findFirstPageByFormTemplateId", List.of(probe("idx_form_data_template_created", "form_template_id"))),
+            Map.entry("FormDataRepository.findPageByFormTemplateIdAfter", List.of(probe("idx_form_data_template_created", "form_template_id", "created_at", "id"))),
+            Map.entry("FormDataRepository.findFirstPageByFormTemplateIdAndUserId", List.of(probe("idx_form_data_template_user_created", "form_template_id", "user_id"))),
+            Map.entry("FormDataRepository.findPageByFormTemplateIdAndUserIdAfter", List.of(probe("idx_form_data_template_user_created", "form_template_id", "user_id", "created_at", "id"))),
+            Map.entry("FormDataRepositoryCustom.findPageByFilters", List.of(probe("idx_form_data_template_created", "form_template_id", "created_at", "id"))),
+            Map.entry("UserRepository.findByEmail", List.of(probe("users_email_key", "email"))),
+            Map.entry("UserRepository.updatePassword", List.of(probe("users_pkey", "id"))),
+            Map.entry("UserRepositoryCustom.insertUserWithRoles", List.of(probe("uk_role_name", "name"))),
+            Map.entry("RoleRepository.findByName", List.of(probe("uk_role_name", "name"))),
+            Map.entry("EmailOutboxRepository.lockNextBatch", List.of(probe("idx_email_outbox_status_next_attempt", "status", "next_attempt_at"))),
+            Map.entry("EmailOutboxRepository.countByStatus", List.of(probe("idx_email_outbox_status_next_attempt", "status"))),
+            Map.entry("FormFieldStatRepository.findTotalsByFormTemplateId", List.of(
+                    probe("form_field_stats_pkey", "form_template_id"), probe("idx_form_field_stat_deltas_template", "form_template_id"))),
+            // Inserts from unnest; the foreign key check is a primary key lookup outside the plan
+            Map.entry("FormFieldStatRepository.addDeltas", List.of()),
+            // The recursive step seeks to the next template instead of reading every delta
+            Map.entry("FormFieldStatRepository.findTemplatesWithDeltas", List.of(probe("idx_form_field_stat_deltas_template", "form_template_id"))),
+            Map.entry("FormFieldStatRepository.rollUpDeltas", List.of(probe("idx_form_field_stat_deltas_template", "form_template_id"))),
+            Map.entry("FormFieldStatRepository.findStaleNumberBuckets", List.of(probe("form_field_stats_pkey", "form_template_id"))),
+            Map.entry("FormFieldStatRepository.recomputeNumberRange", List.of(
+                    probe("form_field_stats_pkey", "form_template_id", "field_key", "bucket"), probe("idx_form_data_template_created", "form_template_id"))),
+            Map.entry("FormFieldStatRepository.deleteByFormTemplateId", List.of(probe("form_field_stats_pkey", "form_template_id"))),
+            Map.entry("FormFieldStatRepository.deleteDeltasByFormTemplateId", List.of(probe("idx_form_field_stat_deltas_template", "form_template_id"))),
+            // Advisory locks read no table at all
+            Map.entry("FormFieldStatRepository.lockTemplateShared", List.of()),
+            Map.entry("FormFieldStatRepository.lockTemplateExclusive", List.of()));
+
+    private static final String SCHEMA = "[{\"label\":\"Age\",\"type\":\"number\",\"key\":\"age\"},"
+            + "{\"label\":\"Subscribed\",\"type\":\"checkbox\",\"key\":\"subscribed\"}]";
+
+    // Both a template and a user, so statements with foreign keys to either can run
+    private static final UUID SEEDED_ID = UUID.fromString("5b0c8d2e-8f43-4b7a-9a51-3f0f3c2d9e10");
+
+    private static final Pattern TABLE_SCAN = Pattern.compile("(Seq|Index|Index Only|Bitmap Heap|Bitmap Index) Scan");
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @Autowired
+    private FormDataRepository formDataRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Enough templates, users and submissions for the planner's row estimates to look like production;
+    // on empty tables a Sort over a handful of rows always beats reading an index in order
+    @BeforeEach
+    void seed() {
+        if (jdbcTemplate.queryForObject("SELECT count(*) FROM form_template", Long.class) > 0) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password) VALUES (?, 'seeded@example.com', 'seeded', 'x')", SEEDED_ID);
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password) "
+                + "SELECT gen_random_uuid(), 'user' || n || '@example.com', 'user' || n, 'x' FROM generate_series(1, 99) n");
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Survey', CAST(? AS jsonb), true, true, now())", SEEDED_ID, SCHEMA);
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "SELECT gen_random_uuid(), 'Survey ' || n, CAST(? AS jsonb), true, true, now() - n * interval '1 minute' "
+                + "FROM generate_series(1, 9999) n", SCHEMA);
+        jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) "
+                + "SELECT gen_random_uuid(), jsonb_build_array(jsonb_build_object('key', 'age', 'value', n % 90), "
+                + "jsonb_build_object('key', 'subscribed', 'value', n % 1000 = 0)), t.id, u.ids[1 + n % 100], now() - n * interval '1 minute' "
+                + "FROM (SELECT id FROM form_template LIMIT 200) t, (SELECT array_agg(id) AS ids FROM users) u, generate_series(1, 100) n");
+        // One busy template, where the rare subscribed answer is worth looking up in the GIN index
+        jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) "
+                + "SELECT gen_random_uuid(), jsonb_build_array(jsonb_build_object('key', 'age', 'value', n % 90), "
+                + "jsonb_build_object('key', 'subscribed', 'value', n % 1000 = 0)), ?, ?, now() - n * interval '1 second' "
+                + "FROM generate_series(1, 20000) n", SEEDED_ID, SEEDED_ID);
+        // VACUUM also flushes the GIN pending lists, which the planner would otherwise cost as a full read
+        jdbcTemplate.execute("VACUUM ANALYZE");
+    }
+
+    @Test
+    void everyRepositoryQueryIsChecked() {
+        for (Method method : repositoryMethods()) {
+            assertThat(EXPECTED_PLANS).as("%s has no expected plan; add it to EXPECTED_PLANS", name(method))
+                    .containsKey(name(method));
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> queriesProbeTheirIndex() {
+        return repositoryMethods().stream()
+                .map(method -> DynamicTest.dynamicTest(name(method), () -> {
+                    Object repository = applicationContext.getBean(repositoryOf(method));
+                    Object[] arguments = Arrays.stream(method.getParameterTypes()).map(RepositoryQueryPlanTest::argument).toArray();
+                    assertPlans(name(method), capture(() -> ReflectionUtils.invokeMethod(method, repository, arguments)),
+                            EXPECTED_PLANS.get(name(method)));
+                }));
+    }
+
+    @Test
+    void filteredSubmissionQueriesProbeTheirIndex() {
+        FormTemplate formTemplate = new FormTemplate();
+        formTemplate.setId(SEEDED_ID);
+        formTemplate.setJsonSchema(SCHEMA);
+        CompiledFormSchema schema = CompiledFormSchema.compile(formTemplate, objectMapper);
+        PageCursor after = new PageCursor(LocalDateTime.now(), UUID.randomUUID());
+
+        List<FormDataFilter> equality = List.of(FormDataFilter.parse(schema, "subscribed:eq:true"));
+        assertPlans("equality filter", capture(() -> formDataRepository.findPageByFilters(SEEDED_ID, equality, after, 20)),
+                List.of(probe("idx_form_data_json_data", "json_data")));
+
+        List<FormDataFilter> range = List.of(FormDataFilter.parse(schema, "age:gte:18"));
+        assertPlans("range filter", capture(() -> formDataRepository.findPageByFilters(SEEDED_ID, range, after, 20)),
+                List.of(probe("idx_form_data_template_created", "form_template_id", "created_at", "id")));
+    }
+
+    // Runs the call in a transaction that is rolled back, returning every statement it sent
+    private List<CapturedStatement> capture(Supplier<Object> call) {
+        statementCapture.statements.clear();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            if (call.get() instanceof Stream<?> stream) {
+                stream.close();
+            }
+            status.setRollbackOnly();
+        });
+        return List.copyOf(statementCapture.statements);
+    }
+
+    private void assertPlans(String query, List<CapturedStatement> statements, List<IndexAccess> expected) {
+        assertThat(statements).as("SQL sent by %s", query).isNotEmpty();
+        List<String> plans = new ArrayList<>();
+        for (CapturedStatement statement : statements) {
+            plans.addAll(explain(statement));
+        }
+        String allPlans = String.join("\n", plans);
+        assertThat(allPlans).as("Plan for %s", query).doesNotContain("Seq Scan");
+        if (expected.isEmpty()) {
+            assertThat(TABLE_SCAN.matcher(allPlans).find()).as("%s reads a table:%n%s", query, allPlans).isFalse();
+        }
+        for (IndexAccess access : expected) {
+            assertThat(plans.stream().anyMatch(access::isUsedBy))
+                    .as("%s should use %s:%n%s", query, access, allPlans).isTrue();
+        }
+    }
+
+    // Seq scans are off so that the assertions name the index the planner would fall back to, not
+    // whichever scan happens to be cheapest on a small table
+    private List<String> explain(CapturedStatement captured) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            status.setRollbackOnly();
+            return jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET LOCAL enable_seqscan = off");
+                }
+                List<String> plans = new ArrayList<>();
+                int offset = 0;
+                // EXPLAIN takes a single statement; insertUserWithRoles sends two in one call
+                for (String sql : splitStatements(captured.sql)) {
+                    int parameters = countParameters(sql);
+                    // VERBOSE shows subplans in select lists, such as the recursive step of findTemplatesWithDeltas
+                    try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (VERBOSE) " + sql)) {
+                        for (Binding binding : captured.bindings) {
+                            int index = (int) binding.arguments[0] - offset;
+                            if (index >= 1 && index <= parameters) {
+                                Object[] arguments = binding.arguments.clone();
+                                arguments[0] = index;
+                                ReflectionUtils.invokeMethod(binding.setter, explain, arguments);
+                            }
+                        }
+                        StringBuilder plan = new StringBuilder();
+                        try (ResultSet resultSet = explain.executeQuery()) {
+                            while (resultSet.next()) {
+                                plan.append(resultSet.getString(1)).append('\n');
+                            }
+                        }
+                        plans.add(plan.toString());
+                    }
+                    offset += parameters;
+                }
+                return plans;
+            });
+        });
+    }
+
+    private static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == ';' && !quoted) {
+                statements.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        statements.add(current.toString());
+        statements.removeIf(String::isBlank);
+        return statements;
+    }
+
+    private static int countParameters(String sql) {
+        int parameters = 0;
+        boolean quoted = false;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                parameters++;
+            }
+        }
+        return parameters;
+    }
+
+    private static List<Method> repositoryMethods() {
+        List<Method> methods = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            methods.addAll(queryMethods(repository));
+            // Custom fragments such as FormDataRepositoryCustom live beside the repository
+            for (Class<?> fragment : repository.getInterfaces()) {
+                if (fragment.getPackage().equals(repository.getPackage())) {
+                    methods.addAll(queryMethods(fragment));
+                }
+            }
+        }
+        return methods;
+    }
+
+    private static List<Method> queryMethods(Class<?> type) {
+        return Arrays.stream(type.getDeclaredMethods())
+                .filter(method -> !method.isSynthetic() && !method.isDefault() && !Modifier.isStatic(method.getModifiers()))
+                .toList();
+    }
+
+    private static Class<?> repositoryOf(Method method) {
+        return REPOSITORIES.stream().filter(method.getDeclaringClass()::isAssignableFrom).findFirst().orElseThrow();
+    }
+
+    private static String name(Method method) {
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private static Object argument(Class<?> type) {
+        if (type == UUID.class) {
+            return SEEDED_ID;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == int.class || type == Integer.class) {
+            return 20;
+        }
+        if (type == long.class || type == Long.class) {
+            return 20L;
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type == PageCursor.class) {
+            return new PageCursor(LocalDateTime.now(), SEEDED_ID);
+        }
+        if (type == List.class) {
+            return List.of();
+        }
+        if (type.isArray()) {
+            return Array.newInstance(type.getComponentType(), 0);
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (type == String.class) {
+            // A seeded role, so insertUserWithRoles finds the role it links to
+            return "USER";
+        }
+        throw new IllegalArgumentException("No argument for " + type);
+    }
+
+    private static IndexAccess probe(String index, String... leadingColumns) {
+        return new IndexAccess(index, List.of(leadingColumns));
+    }
+
+    // Reads the index in order under a LIMIT with nothing to seek to, as a first page does
+    private static IndexAccess ordered(String index) {
+        return new IndexAccess(index, List.of());
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+
+    private record IndexAccess(String index, List<String> leadingColumns) {
+
+        boolean isUsedBy(String plan) {
+            String[] lines = plan.split("\n");
+            for (int i = 0; i < lines.length; i++) {
+                if (!lines[i].contains(" using " + index + " ") && !lines[i].contains("Bitmap Index Scan on " + index + " ")) {
+                    continue;
+                }
+                if (leadingColumns.isEmpty()) {
+                    return lines[0].startsWith("Limit") && !plan.contains("Sort");
+                }
+                // The node's own properties, up to the next plan node
+                for (int j = i + 1; j < lines.length && !lines[j].contains("->"); j++) {
+                    String line = lines[j];
+                    if (line.contains("Index Cond:") && leadingColumns.stream().allMatch(line::contains)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    private record CapturedStatement(String sql, List<Binding> bindings) {
+    }
+
+    // A PreparedStatement setter call, replayed as-is onto the EXPLAIN; the first argument is the parameter index
+    private record Binding(Method setter, Object[] arguments) {
+    }
+
+    // Wraps the DataSource so every prepared statement and the values bound to it are recorded
+    static class StatementCapture implements BeanPostProcessor {
+
+        private final List<CapturedStatement> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return proxy(DataSource.class, dataSource, (method, result, arguments) ->
+                    result instanceof Connection connection ? proxy(Connection.class, connection, this::prepared) : result);
+        }
+
+        private Object prepared(Method method, Object result, Object[] arguments) {
+            if (!(result instanceof PreparedStatement prepared)) {
+                return result;
+            }
+            CapturedStatement statement = new CapturedStatement((String) arguments[0], new CopyOnWriteArrayList<>());
+            statements.add(statement);
+            return proxy(PreparedStatement.class, prepared, (setter, ignored, setterArguments) -> {
+                if (setter.getName().startsWith("set") && setterArguments != null && setterArguments.length >= 2
+                        && setterArguments[0] instanceof Integer) {
+                    statement.bindings().add(new Binding(setter, setterArguments));
+                }
+                return ignored;
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Wrapper wrapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, arguments) -> {
+                try {
+                    return wrapper.wrap(method, method.invoke(target, arguments), arguments);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+
+        private interface Wrapper {
+            Object wrap(Method method, Object result, Object[] arguments);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.sandesh.formbuilder.service.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.dto.FieldAnalyticsResponse;
+import com.sandesh.formbuilder.dto.FormAnalyticsResponse;
+import com.sandesh.formbuilder.dto.HistogramBucket;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.service.form.FormSchemaCache;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Submissions only append deltas, so they never wait on one another, and the totals read the same
+// before and after the rollup folds the deltas into form_field_stats.
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.flyway.postgresql.transactional-lock=false",
+        "form.analytics.rollup-batch-size=7",
+        // The test rolls up by hand; a scheduled rollup would skip the rows it has locked
+        "form.analytics.rollup-interval-ms=3600000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({FormAnalyticsServiceImpl.class, FormSchemaCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FormAnalyticsServiceImplTest {
+
+    private static final String SCHEMA = "[{\"label\":\"Age\",\"type\":\"number\",\"key\":\"age\"},"
+            + "{\"label\":\"Subscribed\",\"type\":\"checkbox\",\"key\":\"subscribed\"}]";
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private FormAnalyticsServiceImpl formAnalyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CompiledFormSchema schema;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        FormTemplate formTemplate = new FormTemplate();
+        formTemplate.setId(UUID.randomUUID());
+        formTemplate.setName("Survey");
+        formTemplate.setJsonSchema(SCHEMA);
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Survey', CAST(? AS jsonb), true, true, now())", formTemplate.getId(), SCHEMA);
+        schema = CompiledFormSchema.compile(formTemplate, objectMapper);
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password) VALUES (?, ?, ?, 'x')", userId, userId + "@example.com", userId.toString());
+    }
+
+    @Test
+    void totalsAreTheSameBeforeAndAfterTheRollup() {
+        List<List<Map<String, Object>>> submissions = new ArrayList<>();
+        for (int age = 1; age <= 1000; age++) {
+            submissions.add(submission(age, age % 4 == 0));
+        }
+        // One submission per transaction, as the single-submission endpoint writes them
+        for (List<Map<String, Object>> submission : submissions) {
+            inTransaction(() -> formAnalyticsService.recordSubmissions(schema, List.of(submission)));
+        }
+        inTransaction(() -> formAnalyticsService.recordChange(schema, submission(1000, true), null));
+        inTransaction(() -> formAnalyticsService.recordChange(schema, submission(999, false), submission(5, false)));
+        // The submissions as form_data holds them after the delete and the edit
+        jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) "
+                + "SELECT gen_random_uuid(), jsonb_build_array(jsonb_build_object('key', 'age', 'value', CASE WHEN n = 999 THEN 5 ELSE n END), "
+                + "jsonb_build_object('key', 'subscribed', 'value', n % 4 = 0 AND n <> 999)), ?, ?, now() FROM generate_series(1, 999) n",
+                schema.getTemplateId(), userId);
+
+        FieldAnalyticsResponse age = field(formAnalyticsService.getAnalytics(schema.getTemplateId()), "age");
+        assertThat(age.getCount()).isEqualTo(999);
+        assertThat(age.getMin()).isEqualByComparingTo("1");
+        // 999 was moved out of a bucket that still holds 990..998; until the rollup its max is stale
+        assertThat(age.getMax()).isEqualByComparingTo("999");
+        assertThat(age.getMean()).isEqualByComparingTo(BigDecimal.valueOf(500 * 999 - 999 + 5).divide(BigDecimal.valueOf(999), MathContext.DECIMAL64));
+        assertThat(age.getHistogram()).extracting(HistogramBucket::getCount).containsOnly(100L, 99L);
+        FieldAnalyticsResponse subscribed = field(formAnalyticsService.getAnalytics(schema.getTemplateId()), "subscribed");
+        assertThat(subscribed.getCounts()).containsEntry("true", 249L).containsEntry("false", 750L);
+
+        formAnalyticsService.rollUpDeltas();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM form_field_stat_deltas WHERE form_template_id = ?",
+                Long.class, schema.getTemplateId())).isZero();
+        // Ages 1..999 at two significant digits: 9 + 90 + 90 buckets instead of 1000 rows
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM form_field_stats WHERE form_template_id = ? AND field_key = 'age' AND value_count > 0",
+                Long.class, schema.getTemplateId())).isEqualTo(189);
+        FormAnalyticsResponse rolledUp = formAnalyticsService.getAnalytics(schema.getTemplateId());
+        assertThat(field(rolledUp, "age").getMax()).isEqualByComparingTo("998");
+        // The histogram spans min..max, so it is compared by its total
+        assertThat(field(rolledUp, "age").getHistogram()).extracting(HistogramBucket::getCount).containsOnly(100L, 99L);
+        assertThat(field(rolledUp, "age")).usingRecursiveComparison().ignoringFields("max", "histogram").isEqualTo(age);
+        assertThat(field(rolledUp, "subscribed")).usingRecursiveComparison().isEqualTo(subscribed);
+    }
+
+    @Test
+    void theRollupRecomputesMinAndMaxOfBucketsThatLostANumber() {
+        // 200, 205 and 209 share the bucket 2E+2, which holds [200, 210)
+        inTransaction(() -> formAnalyticsService.recordSubmissions(schema, List.of(submission(200, true), submission(205, true), submission(209, true))));
+        insertFormData(submission(200, true));
+        insertFormData(submission(205, true));
+        formAnalyticsService.rollUpDeltas();
+        assertThat(field(formAnalyticsService.getAnalytics(schema.getTemplateId()), "age").getMax()).isEqualByComparingTo("209");
+
+        // 209 is deleted; its submission is already gone from form_data
+        inTransaction(() -> formAnalyticsService.recordChange(schema, submission(209, true), null));
+        assertThat(field(formAnalyticsService.getAnalytics(schema.getTemplateId()), "age").getMax()).isEqualByComparingTo("209");
+        formAnalyticsService.rollUpDeltas();
+
+        FieldAnalyticsResponse age = field(formAnalyticsService.getAnalytics(schema.getTemplateId()), "age");
+        assertThat(age.getCount()).isEqualTo(2);
+        assertThat(age.getMin()).isEqualByComparingTo("200");
+        assertThat(age.getMax()).isEqualByComparingTo("205");
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM form_field_stats WHERE form_template_id = ? AND number_stale",
+                Long.class, schema.getTemplateId())).isZero();
+    }
+
+    @Test
+    void nextBucketIsTheSmallestValueOutsideTheBucket() {
+        assertThat(FormAnalyticsServiceImpl.nextBucket(new BigDecimal("1.2E+3"))).isEqualByComparingTo("1300");
+        assertThat(FormAnalyticsServiceImpl.nextBucket(new BigDecimal("9.9E+2"))).isEqualByComparingTo("1000");
+        assertThat(FormAnalyticsServiceImpl.nextBucket(new BigDecimal("5"))).isEqualByComparingTo("5.1");
+        assertThat(FormAnalyticsServiceImpl.nextBucket(new BigDecimal("-1.3E+3"))).isEqualByComparingTo("-1200");
+        // -995 rounds down to -1000 while -990 is a bucket of its own
+        assertThat(FormAnalyticsServiceImpl.nextBucket(new BigDecimal("-1E+3"))).isEqualByComparingTo("-990");
+        assertThat(FormAnalyticsServiceImpl.nextBucket(new BigDecimal("-0.1"))).isEqualByComparingTo("-0.099");
+        assertThat(FormAnalyticsServiceImpl.nextBucket(BigDecimal.ZERO)).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void concurrentSubmissionsDoNotWaitOnEachOther() throws Exception {
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Holds the first transaction open after writing the same answer the second one writes
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> inTransaction(() -> {
+            formAnalyticsService.recordSubmissions(schema, List.of(submission(30, true)));
+            recorded.countDown();
+            await(release);
+        }));
+        await(recorded);
+        try {
+            inTransaction(() -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = '2s'");
+                formAnalyticsService.recordSubmissions(schema, List.of(submission(30, true)));
+            });
+        } finally {
+            release.countDown();
+        }
+        first.get(10, TimeUnit.SECONDS);
+
+        FieldAnalyticsResponse subscribed = field(formAnalyticsService.getAnalytics(schema.getTemplateId()), "subscribed");
+        assertThat(subscribed.getCounts()).containsEntry("true", 2L);
+    }
+
+    private void insertFormData(List<Map<String, Object>> submission) {
+        jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) VALUES (?, CAST(? AS jsonb), ?, ?, now())",
+                UUID.randomUUID(), toJson(submission), schema.getTemplateId(), userId);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private static List<Map<String, Object>> submission(int age, boolean subscribed) {
+        return List.of(Map.of("key", "age", "value", age), Map.of("key", "subscribed", "value", subscribed));
+    }
+
+    private static FieldAnalyticsResponse field(FormAnalyticsResponse analytics, String key) {
+        return analytics.getFields().stream().filter(field -> field.getKey().equals(key)).findFirst().orElseThrow();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.sandesh.formbuilder.service.auth;
+
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.destroy();
+    }
+
+    @Test
+    void hashesOnThePoolAndReportsWeakerHashes() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        String hash = encoder.encode("secret");
+
+        assertThat(encoder.matches("secret", hash)).isTrue();
+        assertThat(encoder.matches("wrong", hash)).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(encoder.upgradeEncoding(hash)).isFalse();
+    }
+
+    @Test
+    void rejectsRightAwayWhenThePoolAndQueueAreFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started), 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+        CompletableFuture<Boolean> running = CompletableFuture.supplyAsync(() -> encoder.matches("a", "a"));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> encoder.matches("b", "b"));
+        awaitQueued();
+
+        assertThatThrownBy(() -> encoder.matches("c", "c")).isInstanceOf(ServerBusyException.class);
+        assertThat(meterRegistry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS) && rawPassword.toString().equals(encodedPassword);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("executor.queued").gauge().value() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
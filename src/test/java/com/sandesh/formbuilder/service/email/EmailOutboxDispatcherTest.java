@@ -0,0 +1,183 @@
+package com.sandesh.formbuilder.service.email;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.sandesh.formbuilder.entity.EmailOutbox;
+import com.sandesh.formbuilder.enums.EmailOutboxStatus;
+import com.sandesh.formbuilder.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxRepository emailOutboxRepository;
+    private PlatformTransactionManager transactionManager;
+    private JavaMailSenderImpl mailSender;
+    private EmailOutboxDispatcher dispatcher;
+    private List<EmailOutbox> claimed = List.of();
+
+    @BeforeEach
+    void setUp() {
+        emailOutboxRepository = mock(EmailOutboxRepository.class);
+        // Results are recorded against the rows as they are when the send finishes
+        when(emailOutboxRepository.findAllById(any())).thenAnswer(invocation -> claimed);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        dispatcher = dispatcher(mailSender);
+    }
+
+    @Test
+    void sendsBatchAndDeletesSentRows() throws Exception {
+        EmailOutbox first = email("a@example.com");
+        EmailOutbox second = email("b@example.com");
+        claim(first, second);
+
+        dispatcher.dispatchPending();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("Form Response Submission - Survey");
+        verify(emailOutboxRepository).deleteAllInBatch(List.of(first, second));
+    }
+
+    @Test
+    void reschedulesWithBackoffWhenSmtpIsUnavailable() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        EmailOutbox email = claim(email("a@example.com"));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        assertThat(email.getAttempts()).isEqualTo(1);
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(email.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        assertThat(email.getLastError()).isNotBlank();
+        verify(emailOutboxRepository).deleteAllInBatch(List.of());
+    }
+
+    @Test
+    void marksFailedAfterMaxAttempts() {
+        mailSender.setPort(ServerSetupTest.SMTP.getPort() + 1);
+        EmailOutbox email = email("a@example.com");
+        email.setAttempts(2);
+        claim(email);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+    }
+
+    @Test
+    void backoffDoublesUpToTheCap() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(dispatcher.backoff(2)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(dispatcher.backoff(10)).isEqualTo(Duration.ofMinutes(5));
+    }
+
+    @Test
+    void smtpIsTalkedToOutsideAnyTransaction() {
+        JavaMailSender slowSender = mock(JavaMailSender.class);
+        when(slowSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            // The claim has committed and the results transaction hasn't started
+            verify(transactionManager, times(1)).getTransaction(any());
+            verify(transactionManager, times(1)).commit(any());
+            return null;
+        }).when(slowSender).send(any(MimeMessage[].class));
+        EmailOutbox email = claim(email("a@example.com"));
+
+        dispatcher(slowSender).dispatchBatch();
+
+        verify(slowSender).send(any(MimeMessage[].class));
+        verify(transactionManager, times(2)).commit(any());
+        verify(emailOutboxRepository).deleteAllInBatch(List.of(email));
+    }
+
+    @Test
+    void identicalEmailsAreRecordedSeparately() {
+        JavaMailSender partialSender = mock(JavaMailSender.class);
+        when(partialSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        doAnswer(invocation -> {
+            MimeMessage[] messages = (MimeMessage[]) invocation.getRawArguments()[0];
+            throw new MailSendException(Map.of(messages[1], new MessagingException("452 Mailbox full")));
+        }).when(partialSender).send(any(MimeMessage[].class));
+        EmailOutbox first = email("a@example.com");
+        EmailOutbox second = email("a@example.com");
+        claim(first, second);
+
+        dispatcher(partialSender).dispatchBatch();
+
+        verify(emailOutboxRepository).deleteAllInBatch(List.of(first));
+        assertThat(second.getStatus()).isEqualTo(EmailOutboxStatus.PENDING);
+        assertThat(second.getLastError()).isEqualTo("452 Mailbox full");
+    }
+
+    @Test
+    void emailWhoseLastLeaseExpiredIsGivenUpWithoutSending() {
+        EmailOutbox email = email("a@example.com");
+        email.setStatus(EmailOutboxStatus.SENDING);
+        email.setAttempts(3);
+        claim(email);
+
+        dispatcher.dispatchBatch();
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(email.getStatus()).isEqualTo(EmailOutboxStatus.FAILED);
+        assertThat(email.getAttempts()).isEqualTo(3);
+    }
+
+    private EmailOutboxDispatcher dispatcher(JavaMailSender sender) {
+        return new EmailOutboxDispatcher(emailOutboxRepository, sender, transactionManager, new SimpleMeterRegistry(),
+                10, 3, Duration.ofSeconds(30), Duration.ofMinutes(5), Duration.ofMinutes(5));
+    }
+
+    private EmailOutbox claim(EmailOutbox... emails) {
+        claimed = List.of(emails);
+        when(emailOutboxRepository.lockNextBatch(any(), anyInt())).thenReturn(claimed, List.of());
+        return emails[0];
+    }
+
+    private static EmailOutbox email(String recipient) {
+        EmailOutbox email = new EmailOutbox();
+        email.setId(UUID.randomUUID());
+        email.setRecipient(recipient);
+        email.setSubject("Form Response Submission - Survey");
+        email.setBody("Thank you for submitting the form: Survey");
+        email.setStatus(EmailOutboxStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now());
+        return email;
+    }
+}
@@ -0,0 +1,111 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.repository.FormDataRepository;
+import com.sandesh.formbuilder.repository.FormRepository;
+import com.sandesh.formbuilder.service.form.FormSchemaCache;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// 12 submissions with at most 3 rows per sheet and 5 per file
+class ExcelPartitioningTest {
+
+    private final FormTemplate template = SyntheticForms.template(4, SyntheticForms.MIXED);
+    private final FormRepository formRepository = mock(FormRepository.class);
+    private final FormDataRepository formDataRepository = mock(FormDataRepository.class);
+    private ExportServiceImpl exportService;
+    private List<FormData> submissions;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ExportServiceImpl(formRepository, formDataRepository, SyntheticForms.OBJECT_MAPPER,
+                new FormSchemaCache(SyntheticForms.OBJECT_MAPPER, formRepository, 10), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(exportService, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(exportService, "exportRowAccessWindow", 2);
+        ReflectionTestUtils.setField(exportService, "exportMaxRowsPerSheet", 3);
+        ReflectionTestUtils.setField(exportService, "exportMaxRowsPerFile", 5L);
+
+        List<Map<String, Object>> schema = SyntheticForms.schema(4, SyntheticForms.MIXED);
+        submissions = new ArrayList<>();
+        for (List<Map<String, Object>> submission : SyntheticForms.submissions(schema, 12, 7)) {
+            FormData formData = new FormData();
+            formData.setId(UUID.randomUUID());
+            formData.setJsonData(SyntheticForms.toJson(submission));
+            formData.setCreatedAt(LocalDateTime.of(2026, 1, 1, 9, 0).plusMinutes(submissions.size()));
+            submissions.add(formData);
+        }
+        when(formRepository.findById(template.getId())).thenReturn(Optional.of(template));
+        when(formDataRepository.existsByFormTemplateId(template.getId())).thenReturn(true);
+        when(formDataRepository.streamByFormTemplateId(template.getId())).thenAnswer(invocation -> submissions.stream());
+    }
+
+    @Test
+    void rowsRollOverToNewSheetsWithTheHeaderRepeated() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportFormDataToExcel(template.getId(), out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            assertThat(dataRowsPerSheet(workbook)).containsExactly(3, 3, 3, 3);
+            assertThat(workbook.getSheetName(0)).isEqualTo(template.getName() + "Responses");
+            assertThat(workbook.getSheetName(1)).isEqualTo(template.getName() + "Responses (2)");
+            for (Sheet sheet : workbook) {
+                assertThat(sheet.getRow(0).getCell(4).getStringCellValue()).isEqualTo("Submitted At");
+            }
+            // Rows keep their order across sheets
+            assertThat(workbook.getSheetAt(3).getRow(3).getCell(4).getLocalDateTimeCellValue())
+                    .isEqualTo(submissions.get(11).getCreatedAt());
+        }
+    }
+
+    @Test
+    void partsAreZippedAsTheyFill() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportFormDataToExcelParts(template.getId(), out);
+
+        List<String> names = new ArrayList<>();
+        List<List<Integer>> rows = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+                names.add(entry.getName());
+                try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(zip.readAllBytes()))) {
+                    rows.add(dataRowsPerSheet(workbook));
+                }
+            }
+        }
+
+        assertThat(names).hasSize(3).allMatch(name -> name.startsWith("form_responses_" + template.getId()));
+        assertThat(names.get(2)).endsWith("_part3.xlsx");
+        assertThat(rows).containsExactly(List.of(3, 2), List.of(3, 2), List.of(2));
+    }
+
+    private static List<Integer> dataRowsPerSheet(XSSFWorkbook workbook) {
+        List<Integer> rows = new ArrayList<>();
+        for (Sheet sheet : workbook) {
+            rows.add(sheet.getLastRowNum());
+        }
+        return rows;
+    }
+}
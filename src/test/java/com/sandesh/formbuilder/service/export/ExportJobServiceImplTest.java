@@ -0,0 +1,234 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.dto.ExportJobResponse;
+import com.sandesh.formbuilder.enums.ExportFormat;
+import com.sandesh.formbuilder.enums.ExportJobStatus;
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportJobServiceImplTest {
+
+    private static final UUID TEMPLATE_ID = UUID.randomUUID();
+
+    @TempDir
+    Path directory;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ExportJobServiceImpl service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.destroy();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void writesTheResultToTheFileStoreAndForgetsItAfterTheTtl() throws Exception {
+        Files.writeString(directory.resolve(UUID.randomUUID() + ".csv.part"), "left over from a crash");
+        Files.writeString(directory.resolve("unrelated.txt"), "kept");
+        service = newService(1, 1, Duration.ZERO, Duration.ZERO);
+        signIn(UUID.randomUUID(), "USER");
+        release.countDown();
+
+        ExportJobResponse job = service.createJob(TEMPLATE_ID, ExportFormat.CSV);
+        ExportJobResponse completed = awaitFinished(job.getJobId());
+
+        assertThat(completed.getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(completed.getDownloadUrl()).isEqualTo("/api/exports/" + job.getJobId() + "/file");
+        ExportJobFile file = service.getJobFile(job.getJobId());
+        assertThat(Files.readString(file.path())).isEqualTo("a,b\r\n");
+        assertThat(file.size()).isEqualTo(5);
+        try (var files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .containsExactlyInAnyOrder("unrelated.txt", job.getJobId() + ".csv");
+        }
+
+        service.removeExpiredJobs();
+        assertThat(file.path()).doesNotExist();
+        assertThatThrownBy(() -> service.getJob(job.getJobId())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void retriesShareTheRunningJobAndAFullQueueIsRejected() {
+        service = newService(1, 1, Duration.ofHours(1), Duration.ZERO);
+        signIn(UUID.randomUUID(), "USER");
+
+        ExportJobResponse running = service.createJob(TEMPLATE_ID, ExportFormat.CSV);
+        assertThat(service.createJob(TEMPLATE_ID, ExportFormat.CSV).getJobId()).isEqualTo(running.getJobId());
+        service.createJob(TEMPLATE_ID, ExportFormat.NDJSON);
+
+        assertThatThrownBy(() -> service.createJob(TEMPLATE_ID, ExportFormat.XLSX)).isInstanceOf(ServerBusyException.class);
+        assertThatThrownBy(() -> service.getJobFile(running.getJobId())).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void concurrentRetriesStartASingleJob() throws Exception {
+        service = newService(1, 1, Duration.ofHours(1), Duration.ZERO);
+        UUID userId = UUID.randomUUID();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UUID>> jobIds = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                jobIds.add(clients.submit(() -> {
+                    signIn(userId, "USER");
+                    start.await();
+                    return service.createJob(TEMPLATE_ID, ExportFormat.CSV).getJobId();
+                }));
+            }
+            start.countDown();
+
+            Set<UUID> distinct = new HashSet<>();
+            for (Future<UUID> jobId : jobIds) {
+                distinct.add(jobId.get(5, TimeUnit.SECONDS));
+            }
+            assertThat(distinct).hasSize(1);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void aRecentlyDownloadedFileOutlivesItsTtl() throws Exception {
+        service = newService(1, 1, Duration.ZERO, Duration.ofHours(1));
+        signIn(UUID.randomUUID(), "USER");
+        release.countDown();
+        UUID downloadedId = service.createJob(TEMPLATE_ID, ExportFormat.CSV).getJobId();
+        awaitFinished(downloadedId);
+        UUID untouchedId = service.createJob(TEMPLATE_ID, ExportFormat.NDJSON).getJobId();
+        awaitFinished(untouchedId);
+
+        ExportJobFile file = service.getJobFile(downloadedId);
+        Path untouched = directory.resolve(untouchedId + ".ndjson");
+        service.removeExpiredJobs();
+
+        assertThat(file.path()).exists();
+        assertThat(service.getJob(downloadedId).getStatus()).isEqualTo(ExportJobStatus.COMPLETED);
+        assertThat(untouched).doesNotExist();
+    }
+
+    @Test
+    void onlyTheOwnerOrAnAdminSeesAJob() {
+        service = newService(1, 1, Duration.ofHours(1), Duration.ZERO);
+        signIn(UUID.randomUUID(), "USER");
+        UUID jobId = service.createJob(TEMPLATE_ID, ExportFormat.CSV).getJobId();
+
+        signIn(UUID.randomUUID(), "USER");
+        assertThatThrownBy(() -> service.getJob(jobId)).isInstanceOf(AccessDeniedException.class);
+
+        signIn(UUID.randomUUID(), "ADMIN");
+        assertThat(service.getJob(jobId).getJobId()).isEqualTo(jobId);
+    }
+
+    @Test
+    void aFailedExportLeavesNoFileBehind() throws Exception {
+        service = newService(1, 1, Duration.ofHours(1), Duration.ZERO);
+        signIn(UUID.randomUUID(), "USER");
+
+        ExportJobResponse job = service.createJob(TEMPLATE_ID, ExportFormat.XLSX);
+        ExportJobResponse failed = awaitFinished(job.getJobId());
+
+        assertThat(failed.getStatus()).isEqualTo(ExportJobStatus.FAILED);
+        assertThat(failed.getError()).isEqualTo("No form data found");
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private ExportJobServiceImpl newService(int threads, int queueCapacity, Duration ttl, Duration downloadWindow) {
+        try {
+            return new ExportJobServiceImpl(new StubExportService(), new SimpleMeterRegistry(), directory, threads, queueCapacity,
+                    ttl, downloadWindow);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ExportJobResponse awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        ExportJobResponse job = service.getJob(jobId);
+        while (job.getStatus() == ExportJobStatus.QUEUED || job.getStatus() == ExportJobStatus.RUNNING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+            job = service.getJob(jobId);
+        }
+        return job;
+    }
+
+    private static void signIn(UUID userId, String role) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, userId + "@example.com", null, List.of(role));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    // CSV exports wait for release, Excel exports fail as for a template without submissions
+    private class StubExportService implements ExportService {
+
+        @Override
+        public void exportFormDataToExcel(UUID templateId, HttpServletResponse response) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void exportFormDataToExcel(UUID templateId, OutputStream outputStream) {
+            throw new IllegalArgumentException("No form data found");
+        }
+
+        @Override
+        public void exportFormDataToExcelParts(UUID templateId, OutputStream outputStream) {
+            exportFormDataToCsv(templateId, outputStream);
+        }
+
+        @Override
+        public String getExportFileName(UUID templateId, String extension) {
+            return "form_responses_" + templateId + "." + extension;
+        }
+
+        @Override
+        public void exportFormDataToCsv(UUID templateId, OutputStream outputStream) {
+            try {
+                release.await();
+                outputStream.write("a,b\r\n".getBytes(StandardCharsets.UTF_8));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void exportFormDataToNdjson(UUID templateId, OutputStream outputStream) {
+            exportFormDataToCsv(templateId, outputStream);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.sandesh.formbuilder.service.export;
+
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExportRowDecoderTest {
+
+    private static final String SCHEMA = """
+            [{"label":"Age","type":"number","key":"age"},
+             {"label":"Subscribed","type":"checkbox","key":"subscribed"},
+             {"label":"Born","type":"date","key":"born"},
+             {"label":"Alarm","type":"time","key":"alarm"},
+             {"label":"Seen","type":"datetime","key":"seen"},
+             {"label":"Name","type":"text","key":"name"}]""";
+
+    private final CompiledFormSchema schema = CompiledFormSchema.compile(template(), SyntheticForms.OBJECT_MAPPER);
+
+    @Test
+    void valuesLandInTheirKeysColumnWhateverTheStoredOrder() throws IOException {
+        // Stored out of schema order, one item with its value before its key, one key the
+        // template no longer has, and no "born" item at all
+        String stored = """
+                [{"key":"name","value":"Ada, \\"A\\""},
+                 {"label":"Gone","key":"removed","value":"x"},
+                 {"value":true,"key":"subscribed"},
+                 {"label":"Age","type":"number","key":"age","value":36.50},
+                 {"key":"seen","value":null}]""";
+        Map<Integer, String> cells = new HashMap<>();
+
+        new ExportRowDecoder(schema, SyntheticForms.OBJECT_MAPPER.getFactory())
+                .decode(stored, (column, field, parser) -> cells.put(column, field.getKey() + "=" + parser.getText()));
+
+        assertThat(cells).containsExactlyInAnyOrderEntriesOf(Map.of(
+                0, "age=36.50",
+                1, "subscribed=true",
+                4, "seen=null",
+                5, "name=Ada, \"A\""));
+    }
+
+    @Test
+    void excelCellsAreTyped() throws IOException {
+        FormData formData = new FormData();
+        formData.setJsonData("""
+                [{"key":"age","value":42},{"key":"subscribed","value":false},{"key":"born","value":"1990-05-17"},
+                 {"key":"alarm","value":"06:30:00"},{"key":"seen","value":"2026-03-01T12:00:00"},
+                 {"key":"name","value":"2026-03-01"}]""");
+        formData.setCreatedAt(LocalDateTime.of(2026, 3, 2, 8, 15));
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            Row row = workbook.createSheet().createRow(1);
+            new ExcelRowWriter(workbook, schema, SyntheticForms.OBJECT_MAPPER.getFactory()).write(row, formData);
+
+            assertThat(row.getCell(0).getNumericCellValue()).isEqualTo(42);
+            assertThat(row.getCell(1).getBooleanCellValue()).isFalse();
+            assertThat(row.getCell(2).getLocalDateTimeCellValue().toLocalDate()).isEqualTo(LocalDate.of(1990, 5, 17));
+            assertThat(row.getCell(2).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd");
+            assertThat(row.getCell(3).getNumericCellValue()).isEqualTo(6.5 / 24);
+            assertThat(row.getCell(4).getLocalDateTimeCellValue()).isEqualTo(LocalDateTime.of(2026, 3, 1, 12, 0));
+            // Text fields stay text even when they look like a date
+            assertThat(row.getCell(5).getCellType()).isEqualTo(CellType.STRING);
+            assertThat(row.getCell(6).getLocalDateTimeCellValue()).isEqualTo(formData.getCreatedAt());
+        }
+    }
+
+    @Test
+    void temporalValuesOfOtherIsoWidthsParseAndMalformedOnesStayText() throws IOException {
+        FormData formData = new FormData();
+        formData.setJsonData("""
+                [{"key":"born","value":"1990-02-30"},{"key":"alarm","value":"06:30"},
+                 {"key":"seen","value":"2026-03-01T12:00:00.250"},{"key":"name","value":"x"}]""");
+        FormData invalidDigits = new FormData();
+        invalidDigits.setJsonData("""
+                [{"key":"born","value":"19x0-05-17"},{"key":"alarm","value":"25:00:00"},{"key":"seen","value":"2026-03-01 12:00:00"}]""");
+        FormData outOfRange = new FormData();
+        outOfRange.setJsonData("""
+                [{"key":"born","value":"1990-13-01"},{"key":"alarm","value":"06:60:00"},{"key":"seen","value":"2026-03-0112:00:00"}]""");
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            ExcelRowWriter writer = new ExcelRowWriter(workbook, schema, SyntheticForms.OBJECT_MAPPER.getFactory());
+            Row row = workbook.createSheet().createRow(1);
+            writer.write(row, formData);
+            Row invalidRow = workbook.getSheetAt(0).createRow(2);
+            writer.write(invalidRow, invalidDigits);
+            Row outOfRangeRow = workbook.getSheetAt(0).createRow(3);
+            writer.write(outOfRangeRow, outOfRange);
+
+            assertThat(row.getCell(2).getStringCellValue()).isEqualTo("1990-02-30");
+            assertThat(row.getCell(3).getNumericCellValue()).isEqualTo(6.5 / 24);
+            assertThat(row.getCell(4).getLocalDateTimeCellValue()).isEqualTo(LocalDateTime.of(2026, 3, 1, 12, 0, 0, 250_000_000));
+            assertThat(invalidRow.getCell(2).getStringCellValue()).isEqualTo("19x0-05-17");
+            assertThat(invalidRow.getCell(3).getStringCellValue()).isEqualTo("25:00:00");
+            assertThat(invalidRow.getCell(4).getStringCellValue()).isEqualTo("2026-03-01 12:00:00");
+            assertThat(outOfRangeRow.getCell(2).getStringCellValue()).isEqualTo("1990-13-01");
+            assertThat(outOfRangeRow.getCell(3).getStringCellValue()).isEqualTo("06:60:00");
+            assertThat(outOfRangeRow.getCell(4).getStringCellValue()).isEqualTo("2026-03-0112:00:00");
+        }
+    }
+
+    @Test
+    void numbersADoubleCannotHoldExactlyStayText() throws IOException {
+        String[] stored = {"36.50", "0.1", "-2.5E3", "12345678901234567890", "0.10000000000000000001", "1E400"};
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            ExcelRowWriter writer = new ExcelRowWriter(workbook, schema, SyntheticForms.OBJECT_MAPPER.getFactory());
+            Sheet sheet = workbook.createSheet();
+            Row[] rows = new Row[stored.length];
+            for (int i = 0; i < stored.length; i++) {
+                FormData formData = new FormData();
+                formData.setJsonData("[{\"key\":\"age\",\"value\":" + stored[i] + "}]");
+                rows[i] = sheet.createRow(i);
+                writer.write(rows[i], formData);
+            }
+
+            assertThat(rows[0].getCell(0).getNumericCellValue()).isEqualTo(36.5);
+            assertThat(rows[1].getCell(0).getNumericCellValue()).isEqualTo(0.1);
+            assertThat(rows[2].getCell(0).getNumericCellValue()).isEqualTo(-2500);
+            assertThat(rows[3].getCell(0).getStringCellValue()).isEqualTo("12345678901234567890");
+            assertThat(rows[4].getCell(0).getStringCellValue()).isEqualTo("0.10000000000000000001");
+            assertThat(rows[5].getCell(0).getStringCellValue()).isEqualTo("1E400");
+        }
+    }
+
+    private static FormTemplate template() {
+        FormTemplate template = new FormTemplate();
+        template.setId(UUID.randomUUID());
+        template.setName("Typed");
+        template.setJsonSchema(SCHEMA);
+        return template;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.dto.BatchSubmissionResponse;
+import com.sandesh.formbuilder.dto.BatchSubmissionResult;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.enums.SubmissionStatus;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BatchSubmissionServiceImplTest {
+
+    private static final String VALID = """
+            {"jsonData":[{"label":"Name","type":"text","key":"name","value":"Ada"}]}""";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FormSubmissionWriter formSubmissionWriter = mock(FormSubmissionWriter.class);
+    private final UUID templateId = UUID.randomUUID();
+    private BatchSubmissionServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        FormTemplate formTemplate = new FormTemplate();
+        formTemplate.setId(templateId);
+        formTemplate.setJsonSchema("[{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\",\"required\":true}]");
+        FormSchemaCache formSchemaCache = mock(FormSchemaCache.class);
+        when(formSchemaCache.get(templateId)).thenReturn(CompiledFormSchema.compile(formTemplate, objectMapper));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        service = new BatchSubmissionServiceImpl(objectMapper, formSchemaCache, formSubmissionWriter, transactionManager,
+                new FormMetrics(new SimpleMeterRegistry()), 500, 100);
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+
+        AuthenticatedUser user = new AuthenticatedUser(UUID.randomUUID(), "kiosk@example.com", null, List.of("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void rejectedRecordsAreSkippedWhereverTheReaderStopped() {
+        when(formSubmissionWriter.write(any())).thenAnswer(invocation -> saved(invocation.getArgument(0)));
+        // Rejected on the first item with nested values after it, and rejected on its start token
+        String body = "[" + VALID + ","
+                + "{\"jsonData\":[{\"label\":\"Wrong\",\"type\":\"text\",\"key\":\"name\",\"value\":{\"a\":[1,{\"b\":2}]}},"
+                + "{\"label\":\"More\",\"value\":[[3]]}],\"extra\":{\"c\":[4]}},"
+                + "[[1,2],{\"jsonData\":[]}],"
+                + VALID + "]";
+
+        BatchSubmissionResponse response = fillUp(body);
+
+        assertThat(response.getResults()).extracting(BatchSubmissionResult::getIndex, BatchSubmissionResult::getStatus)
+                .containsExactly(
+                        tuple(0, SubmissionStatus.CREATED),
+                        tuple(1, SubmissionStatus.REJECTED),
+                        tuple(2, SubmissionStatus.REJECTED),
+                        tuple(3, SubmissionStatus.CREATED));
+        assertThat(response.getAccepted()).isEqualTo(2);
+    }
+
+    @Test
+    void aFailedChunkDoesNotReturnTheCause() {
+        when(formSubmissionWriter.write(any())).thenThrow(new IllegalStateException("duplicate key value violates unique constraint \"form_data_pkey\""));
+
+        BatchSubmissionResponse response = fillUp("[" + VALID + "," + VALID + "]");
+
+        assertThat(response.getResults()).extracting(BatchSubmissionResult::getError)
+                .containsExactly("Could not save submission", "Could not save submission");
+        assertThat(response.getRejected()).isEqualTo(2);
+    }
+
+    private BatchSubmissionResponse fillUp(String body) {
+        return service.fillUpForms(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), templateId, false, false);
+    }
+
+    private static List<FormData> saved(List<NewSubmission> submissions) {
+        List<FormData> formDataList = new ArrayList<>();
+        for (NewSubmission submission : submissions) {
+            FormData formData = new FormData();
+            formData.setId(UUID.randomUUID());
+            formDataList.add(formData);
+        }
+        return formDataList;
+    }
+}
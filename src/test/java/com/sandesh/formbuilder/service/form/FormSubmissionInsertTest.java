@@ -0,0 +1,146 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.sandesh.formbuilder.service.analytics.FormAnalyticsServiceImpl;
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import com.sandesh.formbuilder.service.email.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Submitting to a template must cost the same number of statements and loads however many
+// submissions it already has; loading the formDataList collection would make it linear.
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.postgresql.transactional-lock=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({FormServiceImpl.class, FormSchemaCache.class, FormResponseCache.class, FormSubmissionWriter.class, SubmissionGroupCommitter.class, FormMetrics.class,
+        FormAnalyticsServiceImpl.class, SimpleMeterRegistry.class})
+class FormSubmissionInsertTest {
+
+    private static final String EMAIL = "submitter@example.com";
+    private static final String SCHEMA = "[{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\"},"
+            + "{\"label\":\"Color\",\"type\":\"dropdown\",\"key\":\"color\",\"options\":[\"red\",\"blue\"]}]";
+    private static final String SUBMISSION = "[{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\",\"value\":\"Ann\"},"
+            + "{\"label\":\"Color\",\"type\":\"dropdown\",\"key\":\"color\",\"value\":\"red\",\"options\":[\"red\",\"blue\"]}]";
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> POSTGRES.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        POSTGRES.close();
+    }
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private FormService formService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UUID templateId;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        templateId = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO users (id, email, username, password) VALUES (?, ?, 'submitter', 'x')", userId, EMAIL);
+        jdbcTemplate.update("INSERT INTO form_template (id, name, json_schema, allow_edit, allow_delete, created_at) "
+                + "VALUES (?, 'Survey', CAST(? AS jsonb), true, true, now())", templateId, SCHEMA);
+
+        AuthenticatedUser principal = new AuthenticatedUser(userId, EMAIL, null, List.of("USER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @Test
+    void insertCostDoesNotGrowWithExistingSubmissions() {
+        // Warm the schema cache, which is the only place the template row is read
+        submit();
+
+        SubmitCost empty = measureSubmit();
+        seedSubmissions(20_000);
+        SubmitCost populated = measureSubmit();
+
+        assertThat(populated.collectionFetches()).isZero();
+        assertThat(populated.entityLoads()).isZero();
+        assertThat(populated.statements()).isEqualTo(empty.statements());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM form_data WHERE form_template_id = ?", Long.class, templateId))
+                .isEqualTo(20_003L);
+    }
+
+    private SubmitCost measureSubmit() {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        submit();
+        entityManager.flush();
+        return new SubmitCost(statistics.getCollectionFetchCount(), statistics.getEntityLoadCount(), statistics.getPrepareStatementCount());
+    }
+
+    private void submit() {
+        InputStream body = new ByteArrayInputStream(("{\"jsonData\":" + SUBMISSION + "}").getBytes(StandardCharsets.UTF_8));
+        formService.fillUpForm(body, templateId, false);
+    }
+
+    private void seedSubmissions(int count) {
+        jdbcTemplate.update("INSERT INTO form_data (id, json_data, form_template_id, user_id, created_at) "
+                + "SELECT gen_random_uuid(), CAST(? AS jsonb), ?, ?, now() FROM generate_series(1, ?)",
+                SUBMISSION, templateId, userId, count);
+    }
+
+    private record SubmitCost(long collectionFetches, long entityLoads, long statements) {
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
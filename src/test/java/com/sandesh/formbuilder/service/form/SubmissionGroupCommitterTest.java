@@ -0,0 +1,184 @@
+package com.sandesh.formbuilder.service.form;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sandesh.formbuilder.entity.FormData;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.exception.ServerBusyException;
+import com.sandesh.formbuilder.validation.CompiledFormSchema;
+import com.sandesh.formbuilder.validation.ValidatedFormData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SubmissionGroupCommitterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Integer> writtenBatchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final ExecutorService callers = Executors.newFixedThreadPool(16);
+    private SubmissionGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        if (committer != null) {
+            committer.stop();
+        }
+    }
+
+    @Test
+    void coalescesConcurrentSubmissionsIntoBoundedBatches() throws Exception {
+        committer = start(writer(List.of()), 8, 10_000);
+
+        List<CompletableFuture<FormData>> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> committer.submit(submission()), callers));
+        }
+        for (CompletableFuture<FormData> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        }
+
+        assertThat(writtenBatchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(40);
+        assertThat(writtenBatchSizes).allMatch(size -> size <= 8);
+        assertThat(writtenBatchSizes.size()).isLessThan(40);
+        assertThat(meterRegistry.get("form.ingest.batch.size").summary().totalAmount()).isEqualTo(40);
+    }
+
+    @Test
+    void failedBatchIsRetriedRecordByRecord() throws Exception {
+        NewSubmission bad = submission();
+        committer = start(writer(List.of(bad)), 8, 10_000);
+
+        CompletableFuture<FormData> good = CompletableFuture.supplyAsync(() -> committer.submit(submission()), callers);
+        CompletableFuture<FormData> failing = CompletableFuture.supplyAsync(() -> committer.submit(bad), callers);
+
+        assertThat(good.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThatThrownBy(() -> failing.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        committer = start(blocked(writing, release), 1, 1);
+
+        // One record held by the writer, one filling the queue
+        CompletableFuture<FormData> first = CompletableFuture.supplyAsync(() -> committer.submit(submission()), callers);
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<FormData> second = CompletableFuture.supplyAsync(() -> committer.submit(submission()), callers);
+        awaitQueueDepth(1);
+
+        assertThatThrownBy(() -> committer.submit(submission())).isInstanceOf(ServerBusyException.class);
+        assertThat(meterRegistry.get("form.ingest.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isNotNull();
+        assertThat(second.get(10, TimeUnit.SECONDS)).isNotNull();
+    }
+
+    @Test
+    void aTimedOutSubmissionIsWithdrawnIfQueuedAndAwaitedIfItsBatchStarted() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FormSubmissionWriter blocked = blocked(writing, release);
+        committer = start(blocked, 1, 10, Duration.ofMillis(300));
+
+        // The first record is in the writer's batch when both time out, the second is still queued
+        CompletableFuture<FormData> started = CompletableFuture.supplyAsync(() -> committer.submit(submission()), callers);
+        assertThat(writing.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<FormData> queued = CompletableFuture.supplyAsync(() -> committer.submit(submission()), callers);
+
+        assertThatThrownBy(() -> queued.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(ServerBusyException.class);
+        assertThat(meterRegistry.get("form.ingest.queue.depth").gauge().value()).isZero();
+        Thread.sleep(300);
+        assertThat(started).isNotDone();
+
+        release.countDown();
+        assertThat(started.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        verify(blocked, times(1)).write(any());
+    }
+
+    // Signals writing once it holds a batch and keeps it until release
+    private static FormSubmissionWriter blocked(CountDownLatch writing, CountDownLatch release) {
+        FormSubmissionWriter blocked = mock(FormSubmissionWriter.class);
+        when(blocked.write(any())).thenAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return toFormData(invocation.getArgument(0));
+        });
+        return blocked;
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.get("form.ingest.queue.depth").gauge().value() != depth) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private SubmissionGroupCommitter start(FormSubmissionWriter writer, int maxBatchSize, int queueCapacity) {
+        return start(writer, maxBatchSize, queueCapacity, Duration.ofSeconds(10));
+    }
+
+    private SubmissionGroupCommitter start(FormSubmissionWriter writer, int maxBatchSize, int queueCapacity, Duration ackTimeout) {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        SubmissionGroupCommitter groupCommitter = new SubmissionGroupCommitter(writer, transactionManager, meterRegistry,
+                true, maxBatchSize, Duration.ofMillis(20), queueCapacity, Duration.ofMillis(50), ackTimeout);
+        groupCommitter.start();
+        return groupCommitter;
+    }
+
+    // Records batch sizes and fails any batch containing one of the bad submissions
+    private FormSubmissionWriter writer(List<NewSubmission> bad) {
+        FormSubmissionWriter writer = mock(FormSubmissionWriter.class);
+        when(writer.write(any())).thenAnswer(invocation -> {
+            List<NewSubmission> submissions = invocation.getArgument(0);
+            if (submissions.stream().anyMatch(bad::contains)) {
+                throw new IllegalStateException("insert failed");
+            }
+            writtenBatchSizes.add(submissions.size());
+            return toFormData(submissions);
+        });
+        return writer;
+    }
+
+    private static List<FormData> toFormData(List<NewSubmission> submissions) {
+        List<FormData> formDataList = new ArrayList<>();
+        for (NewSubmission submission : submissions) {
+            FormData formData = new FormData();
+            formData.setId(UUID.randomUUID());
+            formDataList.add(formData);
+        }
+        return formDataList;
+    }
+
+    private static NewSubmission submission() {
+        FormTemplate formTemplate = new FormTemplate();
+        formTemplate.setId(UUID.randomUUID());
+        formTemplate.setJsonSchema("[{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\"}]");
+        CompiledFormSchema schema = CompiledFormSchema.compile(formTemplate, new ObjectMapper());
+        return new NewSubmission(schema, UUID.randomUUID(), new ValidatedFormData("[]", List.of()), null);
+    }
+}
@@ -0,0 +1,117 @@
+package com.sandesh.formbuilder.testdata;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.enums.FormFieldType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+// Generates templates and matching submissions for the benchmarks and the load test. A template
+// has `fieldCount` fields of one type, or of every type in turn for "mixed". Values are drawn from
+// a seeded Random so runs are repeatable.
+public final class SyntheticForms {
+
+    public static final String MIXED = "mixed";
+
+    private static final List<String> OPTIONS = List.of("red", "green", "blue", "yellow");
+
+    // Configured like the mapper Spring Boot gives the application (Java time, ISO dates, unknown properties ignored)
+    public static final ObjectMapper OBJECT_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private SyntheticForms() {
+    }
+
+    public static List<Map<String, Object>> schema(int fieldCount, String fieldTypes) {
+        List<Map<String, Object>> fields = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            FormFieldType type = typeAt(i, fieldTypes);
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("label", "Question " + (i + 1));
+            field.put("type", type.name().toLowerCase());
+            field.put("key", "field_" + i);
+            if (type == FormFieldType.DROPDOWN) {
+                field.put("options", OPTIONS);
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    public static FormTemplate template(int fieldCount, String fieldTypes) {
+        FormTemplate template = new FormTemplate();
+        template.setId(UUID.randomUUID());
+        template.setName("Synthetic " + fieldTypes + " x" + fieldCount);
+        template.setJsonSchema(toJson(schema(fieldCount, fieldTypes)));
+        template.setAllowEdit(true);
+        template.setAllowDelete(true);
+        template.setCreatedAt(LocalDateTime.now());
+        return template;
+    }
+
+    // The submitted items ({label, type, key, value, options?}) for a schema, as stored in form_data
+    public static List<Map<String, Object>> submission(List<Map<String, Object>> schema, Random random) {
+        List<Map<String, Object>> items = new ArrayList<>(schema.size());
+        for (Map<String, Object> field : schema) {
+            Map<String, Object> item = new LinkedHashMap<>(field);
+            item.put("value", value(FormFieldType.valueOf(((String) field.get("type")).toUpperCase()), random));
+            items.add(item);
+        }
+        return items;
+    }
+
+    public static List<List<Map<String, Object>>> submissions(List<Map<String, Object>> schema, int count, long seed) {
+        Random random = new Random(seed);
+        List<List<Map<String, Object>>> submissions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            submissions.add(submission(schema, random));
+        }
+        return submissions;
+    }
+
+    // A POST /api/forms/{id}/data request body
+    public static String requestBody(List<Map<String, Object>> submission) {
+        return toJson(Map.of("jsonData", submission));
+    }
+
+    public static String toJson(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static FormFieldType typeAt(int index, String fieldTypes) {
+        if (MIXED.equals(fieldTypes)) {
+            FormFieldType[] types = FormFieldType.values();
+            return types[index % types.length];
+        }
+        return FormFieldType.valueOf(fieldTypes.toUpperCase());
+    }
+
+    private static Object value(FormFieldType type, Random random) {
+        return switch (type) {
+            case TEXT -> "answer " + random.nextInt(10_000);
+            case TEXTAREA -> "a longer answer that spans a sentence or two, number " + random.nextInt(10_000);
+            case NUMBER -> random.nextInt(1_000);
+            case DROPDOWN -> OPTIONS.get(random.nextInt(OPTIONS.size()));
+            case CHECKBOX -> random.nextBoolean();
+            case EMAIL -> "user" + random.nextInt(10_000) + "@example.com";
+            case DATE -> String.format("2024-%02d-%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+            case TIME -> String.format("%02d:%02d:%02d", random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            case DATETIME -> String.format("2024-%02d-%02dT%02d:%02d:%02d", 1 + random.nextInt(12), 1 + random.nextInt(28),
+                    random.nextInt(24), random.nextInt(60), random.nextInt(60));
+        };
+    }
+}
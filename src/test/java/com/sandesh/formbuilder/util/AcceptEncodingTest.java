@@ -0,0 +1,44 @@
+package com.sandesh.formbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AcceptEncodingTest {
+
+    @Test
+    void gzipIsAcceptedWhenItsWeightIsAboveZero() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br, GZIP;q=0.5")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("gzip ; q=0.001, identity")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("x-gzip;q=1.0")).isTrue();
+    }
+
+    @Test
+    void gzipWithAZeroWeightIsRefused() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("br, gzip;q=0.000")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;Q=0, *")).isFalse();
+    }
+
+    @Test
+    void anUnnamedCodingTakesTheWildcardsWeight() {
+        assertThat(AcceptEncoding.acceptsGzip("br, *;q=0.1")).isTrue();
+        assertThat(AcceptEncoding.acceptsGzip("br, *;q=0")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("br, identity")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip(null)).isFalse();
+    }
+
+    @Test
+    void codingsThatOnlyContainGzipAreNotGzip() {
+        assertThat(AcceptEncoding.acceptsGzip("not-gzip, gzipped")).isFalse();
+    }
+
+    @Test
+    void malformedWeightsAreNotAcceptance() {
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=2")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=1.5")).isFalse();
+        assertThat(AcceptEncoding.acceptsGzip("gzip;q=high")).isFalse();
+    }
+}
@@ -0,0 +1,35 @@
+package com.sandesh.formbuilder.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangeTest {
+
+    @Test
+    void parsesSingleRanges() {
+        assertThat(ByteRange.parse("bytes=0-99", 1000)).isEqualTo(new ByteRange(0, 99));
+        assertThat(ByteRange.parse("bytes=500-", 1000)).isEqualTo(new ByteRange(500, 999));
+        assertThat(ByteRange.parse("bytes=-100", 1000)).isEqualTo(new ByteRange(900, 999));
+        // Ends past the file and suffixes longer than it are clamped
+        assertThat(ByteRange.parse("bytes=900-5000", 1000)).isEqualTo(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=-5000", 1000)).isEqualTo(new ByteRange(0, 999));
+        assertThat(ByteRange.parse("bytes=0-99", 1000).contentRange(1000)).isEqualTo("bytes 0-99/1000");
+    }
+
+    @Test
+    void servesTheWholeFileForHeadersItDoesNotHandle() {
+        assertThat(ByteRange.parse(null, 1000)).isNull();
+        assertThat(ByteRange.parse("items=0-1", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=0-1,5-9", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=9-1", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=a-b", 1000)).isNull();
+    }
+
+    @Test
+    void rangesOutsideTheFileAreUnsatisfiable() {
+        assertThat(ByteRange.parse("bytes=1000-", 1000)).isSameAs(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=-0", 1000)).isSameAs(ByteRange.UNSATISFIABLE);
+        assertThat(ByteRange.parse("bytes=0-", 0)).isSameAs(ByteRange.UNSATISFIABLE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.sandesh.formbuilder.util;
+
+import com.sandesh.formbuilder.service.auth.AuthenticatedUser;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "a-test-secret-that-is-long-enough-for-hs256";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtTokenValidity", 60_000L);
+        jwtUtil.init();
+    }
+
+    @Test
+    void principalIsRebuiltFromTheTokenClaims() {
+        UUID id = UUID.randomUUID();
+        String token = jwtUtil.generateToken(new AuthenticatedUser(id, "ann@example.com", "hash", List.of("USER", "ADMIN")));
+
+        AuthenticatedUser user = jwtUtil.getAuthenticatedUser(token);
+
+        assertThat(user.getId()).isEqualTo(id);
+        assertThat(user.getUsername()).isEqualTo("ann@example.com");
+        assertThat(user.getPassword()).isNull();
+        assertThat(user.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void verifiedTokensAreServedFromTheCache() {
+        ReflectionTestUtils.setField(jwtUtil, "verifiedCacheSize", 100L);
+        jwtUtil.init();
+        String token = jwtUtil.generateToken(new AuthenticatedUser(UUID.randomUUID(), "ann@example.com", "hash", List.of("USER")));
+
+        assertThat(jwtUtil.getAuthenticatedUser(token)).isSameAs(jwtUtil.getAuthenticatedUser(token));
+        assertThatThrownBy(() -> jwtUtil.getAuthenticatedUser(token + "x")).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void tokensWithoutTheIdentityClaimsAreRejected() {
+        String legacyToken = Jwts.builder()
+                .setSubject("ann@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        assertThatThrownBy(() -> jwtUtil.getAuthenticatedUser(legacyToken)).isInstanceOf(JwtException.class);
+    }
+}
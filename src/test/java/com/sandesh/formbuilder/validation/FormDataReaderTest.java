@@ -0,0 +1,115 @@
+package com.sandesh.formbuilder.validation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.sandesh.formbuilder.entity.FormTemplate;
+import com.sandesh.formbuilder.enums.FormFieldType;
+import com.sandesh.formbuilder.exception.FieldValidationException;
+import com.sandesh.formbuilder.testdata.SyntheticForms;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FormDataReaderTest {
+
+    // "required" is false on Name, true on Email and absent everywhere else
+    private static final String SCHEMA = """
+            [{"label":"Name","type":"text","key":"name","required":false},
+             {"label":"Age","type":"number","key":"age"},
+             {"label":"Colour","type":"dropdown","key":"colour","options":["Red","Green"]},
+             {"label":"Email","type":"email","key":"email","required":true}]""";
+
+    private final CompiledFormSchema schema = CompiledFormSchema.compile(template(), SyntheticForms.OBJECT_MAPPER);
+
+    @Test
+    void nullIsAcceptedForFieldsThatAreNotRequired() throws IOException {
+        ValidatedFormData data = read(null, null, null, "\"ada@example.com\"");
+
+        assertThat(data.jsonData()).extracting(item -> item.get("value")).containsExactly(null, null, null, "ada@example.com");
+        assertThat(data.json()).contains("{\"label\":\"Name\",\"type\":\"text\",\"key\":\"name\",\"value\":null}");
+    }
+
+    @Test
+    void aMissingRequiredKeyMeansNotRequired() {
+        assertThat(schema.getField("age").isRequired()).isFalse();
+        assertThat(schema.getField("colour").isRequired()).isFalse();
+        assertThat(schema.getField("email").isRequired()).isTrue();
+
+        assertThatThrownBy(() -> read("\"Ada\"", "36", "\"Red\"", null))
+                .isInstanceOf(FieldValidationException.class)
+                .hasMessage("Data at index 3: value is required for key 'email'");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "42     | 36     | \"Red\"",
+            "true   | \"36\" | \"Red\"",
+            "\"Ada\" | false  | \"Green\""
+    })
+    void valuesOfTheWrongTypeAreAcceptedWhenNotRequired(String name, String age, String colour) throws IOException {
+        ValidatedFormData data = read(name, age, colour, "\"ada@example.com\"");
+
+        assertThat(data.jsonData()).hasSize(4);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "1        | Data at index 2: value '1' for key 'colour' is not a valid option",
+            "\"Blue\" | Data at index 2: value 'Blue' for key 'colour' is not a valid option"
+    })
+    void dropdownValuesMustBeAnOptionEvenWhenNotRequired(String colour, String message) {
+        assertThatThrownBy(() -> read("\"Ada\"", "36", colour, "\"ada@example.com\""))
+                .isInstanceOfSatisfying(FieldValidationException.class, e -> assertThat(e.getFieldType()).isEqualTo(FormFieldType.DROPDOWN))
+                .hasMessage(message);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+            "text     | 42      | TEXT     | Data at index 0: value for key 'field' must be a string",
+            "number   | \"36\"  | NUMBER   | Data at index 0: value for key 'field' must be a number",
+            "dropdown | 1       | DROPDOWN | Data at index 0: value for key 'field' must be a string",
+            "email    | 42      | EMAIL    | Data at index 0: value for key 'field' must be a string"
+    })
+    void valuesOfTheWrongTypeAreRejectedWhenRequired(String type, String value, FormFieldType fieldType, String message) {
+        FormTemplate formTemplate = template();
+        formTemplate.setJsonSchema("[{\"label\":\"Field\",\"type\":\"" + type + "\",\"key\":\"field\",\"required\":true}]");
+        CompiledFormSchema requiredSchema = CompiledFormSchema.compile(formTemplate, SyntheticForms.OBJECT_MAPPER);
+        String body = "{\"jsonData\":[" + item("Field", type, "field", value) + "]}";
+
+        assertThatThrownBy(() -> {
+            try (JsonParser parser = SyntheticForms.OBJECT_MAPPER.createParser(body)) {
+                FormDataReader.readSubmission(requiredSchema, parser);
+            }
+        })
+                .isInstanceOfSatisfying(FieldValidationException.class, e -> assertThat(e.getFieldType()).isEqualTo(fieldType))
+                .hasMessage(message);
+    }
+
+    private ValidatedFormData read(String name, String age, String colour, String email) throws IOException {
+        String body = "{\"jsonData\":["
+                + item("Name", "text", "name", name) + ","
+                + item("Age", "number", "age", age) + ","
+                + item("Colour", "dropdown", "colour", colour) + ","
+                + item("Email", "email", "email", email) + "]}";
+        try (JsonParser parser = SyntheticForms.OBJECT_MAPPER.createParser(body)) {
+            return FormDataReader.readSubmission(schema, parser);
+        }
+    }
+
+    private static String item(String label, String type, String key, String value) {
+        return "{\"label\":\"" + label + "\",\"type\":\"" + type + "\",\"key\":\"" + key + "\",\"value\":" + value + "}";
+    }
+
+    private static FormTemplate template() {
+        FormTemplate formTemplate = new FormTemplate();
+        formTemplate.setId(UUID.randomUUID());
+        formTemplate.setName("Profile");
+        formTemplate.setJsonSchema(SCHEMA);
+        return formTemplate;
+    }
+}